@@ -0,0 +1,40 @@
+package com.dailycodebuffer.security.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Point d'entrée des benchmarks : options JMH de la ligne de commande,
+ * avec le profileur GC toujours actif (gc.alloc.rate.norm = octets alloués par opération)
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+        Runner runner = new Runner(options);
+        // -l : liste des benchmarks retenus par le filtre, sans exécution
+        if (commandLine.shouldList() || commandLine.shouldListWithParams()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
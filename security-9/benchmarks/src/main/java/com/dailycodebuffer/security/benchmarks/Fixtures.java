@@ -0,0 +1,82 @@
+package com.dailycodebuffer.security.benchmarks;
+
+import com.dailycodebuffer.security.CustumUserDetails;
+import com.dailycodebuffer.security.entities.Role;
+import com.dailycodebuffer.security.entities.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Données représentatives des rôles créés par DataInitializationService
+ */
+final class Fixtures {
+
+    // Secret de développement de application.properties
+    static final String JWT_SECRET =
+            "VGhpcy1pcy1hLXN1cGVyLXNlY3JldC1qd3Qta2V5LWZvci1kZXZlbG9wbWVudC1hbmQtc2VjdXJpdHktdGVzdC1vbmx5LTIwMjUtMDctMjA=";
+
+    private Fixtures() {
+    }
+
+    static Role admin() {
+        return role(1L, "ADMIN",
+                "USER_CREATE", "USER_READ", "USER_UPDATE", "USER_DELETE",
+                "ROLE_CREATE", "ROLE_READ", "ROLE_UPDATE", "ROLE_DELETE",
+                "PRODUCT_CREATE", "PRODUCT_READ", "PRODUCT_UPDATE", "PRODUCT_DELETE",
+                "SYSTEM_MANAGE");
+    }
+
+    static Role user() {
+        return role(2L, "USER", "PRODUCT_READ", "PROFILE_READ", "PROFILE_UPDATE");
+    }
+
+    static Role moderator() {
+        return role(3L, "MODERATOR",
+                "USER_READ", "USER_UPDATE",
+                "PRODUCT_CREATE", "PRODUCT_READ", "PRODUCT_UPDATE",
+                "CONTENT_MODERATE");
+    }
+
+    static Role role(Long id, String name, String... permissions) {
+        return Role.builder()
+                .id(id)
+                .name(name)
+                .active(true)
+                .permissions(new HashSet<>(List.of(permissions)))
+                .build();
+    }
+
+    static User userWith(Role... roles) {
+        return User.builder()
+                .id(42L)
+                .username("jdupont")
+                .email("jdupont@example.com")
+                .password("{bcrypt}$2a$10$abcdefghijklmnopqrstuuJ0qv5bEwQ5dX0m0yZmX1jQk3bq0sXo6")
+                .firstName("Jean")
+                .lastName("Dupont")
+                .status(User.AccountStatus.ACTIVE)
+                .enabled(true)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .roles(new HashSet<>(List.of(roles)))
+                .build();
+    }
+
+    static CustumUserDetails detailsOf(User user) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (Role role : user.getRoles()) {
+            names.add("ROLE_" + role.getName());
+            names.addAll(role.getPermissions());
+        }
+        for (String name : names) {
+            authorities.add(new SimpleGrantedAuthority(name));
+        }
+        return new CustumUserDetails(user, List.copyOf(authorities));
+    }
+}
@@ -0,0 +1,65 @@
+package com.dailycodebuffer.security.benchmarks;
+
+import com.dailycodebuffer.security.CustumUserDetails;
+import com.dailycodebuffer.security.services.JwtService;
+import com.dailycodebuffer.security.services.VerifiedToken;
+import com.dailycodebuffer.security.services.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Émission et vérification des tokens JWT, avec et sans cache des tokens vérifiés
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JwtServiceBenchmark {
+
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    private JwtService jwtService;
+    private CustumUserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(Fixtures.JWT_SECRET, new VerifiedTokenCache(tokenCache, 100_000, 3600));
+        userDetails = Fixtures.detailsOf(Fixtures.userWith(Fixtures.admin(), Fixtures.user()));
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, userDetails);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtService.verify(token);
+    }
+}
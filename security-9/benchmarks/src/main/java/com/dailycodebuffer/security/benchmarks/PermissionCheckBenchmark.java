@@ -0,0 +1,72 @@
+package com.dailycodebuffer.security.benchmarks;
+
+import com.dailycodebuffer.security.entities.PermissionMask;
+import com.dailycodebuffer.security.entities.Role;
+import com.dailycodebuffer.security.entities.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vérifications de rôles et de permissions (masques précalculés et variantes par noms)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PermissionCheckBenchmark {
+
+    private Role admin;
+    private User user;
+    private PermissionMask anyRequired;
+    private PermissionMask allRequired;
+
+    @Setup
+    public void setUp() {
+        admin = Fixtures.admin();
+        user = Fixtures.userWith(Fixtures.user(), Fixtures.moderator());
+        anyRequired = PermissionMask.of("SYSTEM_MANAGE", "PRODUCT_DELETE");
+        allRequired = PermissionMask.of("PRODUCT_READ", "PRODUCT_UPDATE", "USER_READ");
+    }
+
+    @Benchmark
+    public boolean roleHasAnyPermissionMask() {
+        return admin.hasAnyPermission(anyRequired);
+    }
+
+    @Benchmark
+    public boolean roleHasAllPermissionsMask() {
+        return admin.hasAllPermissions(allRequired);
+    }
+
+    @Benchmark
+    public boolean roleHasAnyPermissionNames() {
+        return admin.hasAnyPermission("SYSTEM_MANAGE", "PRODUCT_DELETE");
+    }
+
+    @Benchmark
+    public boolean roleHasAllPermissionsNames() {
+        return admin.hasAllPermissions("PRODUCT_READ", "PRODUCT_UPDATE", "USER_READ");
+    }
+
+    @Benchmark
+    public boolean userHasRole() {
+        return user.hasRole("MODERATOR");
+    }
+
+    @Benchmark
+    public boolean userHasAllPermissions() {
+        return user.hasAllPermissions(allRequired);
+    }
+}
@@ -0,0 +1,67 @@
+// Test de charge k6 : /products (lecture paginée) et /auth/login (BCrypt)
+//
+// Lancer deux fois, application démarrée avec puis sans threads virtuels :
+//   SPRING_THREADS_VIRTUAL_ENABLED=false mvn spring-boot:run
+//   k6 run -e BASE_URL=http://localhost:8080 --summary-export=platform.json loadtest/products-login.js
+//   SPRING_THREADS_VIRTUAL_ENABLED=true mvn spring-boot:run
+//   k6 run -e BASE_URL=http://localhost:8080 --summary-export=virtual.json loadtest/products-login.js
+//
+// Comparer http_reqs (débit) et les p(99) des métriques products_duration / login_duration.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERNAME = __ENV.USERNAME || 'admin';
+const PASSWORD = __ENV.PASSWORD || 'admin123';
+
+const productsDuration = new Trend('products_duration', true);
+const loginDuration = new Trend('login_duration', true);
+
+export const options = {
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    scenarios: {
+        products: {
+            executor: 'constant-arrival-rate',
+            exec: 'products',
+            rate: Number(__ENV.PRODUCTS_RATE || 2000),
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+        login: {
+            executor: 'constant-arrival-rate',
+            exec: 'login',
+            rate: Number(__ENV.LOGIN_RATE || 50),
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: 50,
+            maxVUs: 500,
+        },
+    },
+};
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ username: USERNAME, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'login setup 200': (r) => r.status === 200 });
+    return { token: res.body };
+}
+
+export function products(data) {
+    // Pages variées pour ne pas mesurer uniquement le cache
+    const size = [20, 50, 100][Math.floor(Math.random() * 3)];
+    const sort = ['id', 'name', 'price'][Math.floor(Math.random() * 3)];
+    const res = http.get(`${BASE_URL}/products?size=${size}&sort=${sort}`,
+        { headers: { Authorization: `Bearer ${data.token}` } });
+    productsDuration.add(res.timings.duration);
+    check(res, { 'products 200': (r) => r.status === 200 });
+}
+
+export function login() {
+    const res = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ username: USERNAME, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    loginDuration.add(res.timings.duration);
+    check(res, { 'login 200 ou 503': (r) => r.status === 200 || r.status === 503 });
+}
@@ -0,0 +1,23 @@
+package com.dailycodebuffer.security.reactive;
+
+import com.dailycodebuffer.security.services.JwtService;
+import com.dailycodebuffer.security.services.VerifiedTokenCache;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Application réactive (WebFlux + R2DBC) pour les déploiements en périphérie
+ *
+ * Sert /auth/login et /products avec un petit nombre fixe de threads de boucle
+ * d'événements. Les tokens sont émis et vérifiés par le même JwtService que
+ * l'application servlet : un token émis par l'une est accepté par l'autre.
+ */
+@SpringBootApplication
+@Import({JwtService.class, VerifiedTokenCache.class})
+public class ReactiveSecurityApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveSecurityApplication.class, args);
+    }
+}
@@ -0,0 +1,122 @@
+package com.dailycodebuffer.security.reactive.config;
+
+import com.dailycodebuffer.security.exception.JwtException;
+import com.dailycodebuffer.security.reactive.services.ReactiveAccountVersions;
+import com.dailycodebuffer.security.services.JwtService;
+import com.dailycodebuffer.security.services.VerifiedToken;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration de la sécurité WebFlux avec JWT (sans état)
+ *
+ * La vérification du token (HMAC, en cache) est assez courte pour rester sur
+ * la boucle d'événements ; seul BCrypt est déporté (voir ReactiveAuthService).
+ * La version de sécurité du token est contrôlée comme côté servlet
+ * (voir ReactiveAccountVersions) : un token révoqué l'est sur les deux applications.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtService jwtService,
+                                                         ReactiveAccountVersions accountVersions) {
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(jwtAuthenticationManager(jwtService, accountVersions));
+        jwtFilter.setServerAuthenticationConverter(exchange -> {
+            String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (header == null || !header.startsWith(BEARER_PREFIX)) {
+                return Mono.empty();
+            }
+            String token = header.substring(BEARER_PREFIX.length());
+            return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(token, token));
+        });
+        jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/auth/**").permitAll()
+                        .anyExchange().authenticated())
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Authentifie à partir des claims du token, après contrôle de la version de sécurité du compte
+     */
+    private ReactiveAuthenticationManager jwtAuthenticationManager(JwtService jwtService,
+                                                                   ReactiveAccountVersions accountVersions) {
+        return authentication -> {
+            VerifiedToken token;
+            try {
+                token = jwtService.verify((String) authentication.getCredentials());
+            } catch (JwtException e) {
+                return Mono.error(new BadCredentialsException("Token invalide", e));
+            }
+            Number version = token.claim(JwtService.CLAIM_SECURITY_VERSION, Number.class);
+            if (token.subject() == null || version == null) {
+                return Mono.error(new BadCredentialsException("Token invalide"));
+            }
+            return accountVersions.isCurrent(token.subject(), version.intValue())
+                    .filter(Boolean::booleanValue)
+                    .switchIfEmpty(Mono.error(new BadCredentialsException("Token révoqué")))
+                    .map(current -> authenticated(token));
+        };
+    }
+
+    private static Authentication authenticated(VerifiedToken token) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (Object role : names(token.claim(JwtService.CLAIM_ROLES, Collection.class))) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+        }
+        for (Object permission : names(token.claim(JwtService.CLAIM_PERMISSIONS, Collection.class))) {
+            authorities.add(new SimpleGrantedAuthority(String.valueOf(permission)));
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(token.subject(), null, authorities);
+    }
+
+    private static Collection<?> names(Collection<?> claim) {
+        return claim != null ? claim : List.of();
+    }
+
+    /**
+     * Même format de hachage que l'application servlet ({bcrypt}, ou BCrypt sans préfixe)
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+}
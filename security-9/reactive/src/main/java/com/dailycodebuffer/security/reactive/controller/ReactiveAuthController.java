@@ -0,0 +1,42 @@
+package com.dailycodebuffer.security.reactive.controller;
+
+import com.dailycodebuffer.security.reactive.services.ReactiveAuthService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Contrôleur réactif d'authentification.
+ */
+@RestController
+@RequestMapping("/auth")
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService authService;
+
+    public ReactiveAuthController(ReactiveAuthService authService) {
+        this.authService = authService;
+    }
+
+    /**
+     * Identifiants de connexion (même corps que l'application servlet)
+     */
+    public record LoginRequest(String username, String password) {
+    }
+
+    /**
+     * Endpoint pour la connexion d'un utilisateur
+     * POST /auth/login
+     * Retourne un JWT si la connexion réussit
+     */
+    @PostMapping("/login")
+    public Mono<ResponseEntity<String>> login(@RequestBody LoginRequest request) {
+        return authService.login(request.username(), request.password())
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Identifiants invalides"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.dailycodebuffer.security.reactive.controller;
+
+import com.dailycodebuffer.security.dto.ProductDto;
+import com.dailycodebuffer.security.dto.ProductPage;
+import com.dailycodebuffer.security.reactive.repositories.ReactiveProductRepository;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Contrôleur réactif du catalogue produits.
+ */
+@RestController
+@RequestMapping("/products")
+public class ReactiveProductController {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final ReactiveProductRepository productRepository;
+
+    public ReactiveProductController(ReactiveProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Endpoint de liste paginée des produits (tri par id)
+     * GET /products?category=&after=&size=
+     * Le curseur a le même format que celui de l'application servlet pour le tri par id.
+     */
+    @GetMapping
+    @PreAuthorize("hasAuthority('PRODUCT_READ')")
+    public Mono<ResponseEntity<ProductPage>> getProducts(@RequestParam(required = false) String category,
+                                                         @RequestParam(required = false) String after,
+                                                         @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        long afterId;
+        try {
+            afterId = after != null ? decodeCursor(after) : 0L;
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String categoryFilter = category == null || category.isBlank() ? null : category;
+
+        // Un élément de plus pour savoir s'il existe une page suivante
+        return productRepository.findPage(categoryFilter, afterId, pageSize + 1)
+                .collectList()
+                .map(products -> {
+                    boolean hasMore = products.size() > pageSize;
+                    List<ProductDto> items = hasMore ? products.subList(0, pageSize) : products;
+                    String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1).id()) : null;
+                    return ResponseEntity.ok(new ProductPage(List.copyOf(items), nextCursor));
+                });
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        // NumberFormatException est une IllegalArgumentException
+        return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+    }
+}
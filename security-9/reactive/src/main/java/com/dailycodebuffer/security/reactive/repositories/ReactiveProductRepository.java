@@ -0,0 +1,46 @@
+package com.dailycodebuffer.security.reactive.repositories;
+
+import com.dailycodebuffer.security.dto.ProductDto;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+/**
+ * Lecture du catalogue via R2DBC, paginée par id (index de clé primaire)
+ */
+@Repository
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS = "SELECT id, sku, name, description, category, price, version FROM products ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveProductRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Produits d'id supérieur à afterId, par id croissant
+     *
+     * @param category Filtre de catégorie, null pour toutes
+     */
+    public Flux<ProductDto> findPage(String category, long afterId, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = category == null
+                ? databaseClient.sql(COLUMNS + "WHERE id > :afterId ORDER BY id LIMIT :limit")
+                : databaseClient.sql(COLUMNS + "WHERE category = :category AND id > :afterId ORDER BY id LIMIT :limit")
+                        .bind("category", category);
+        return spec.bind("afterId", afterId)
+                .bind("limit", limit)
+                .map((row, metadata) -> new ProductDto(
+                        row.get("id", Long.class),
+                        row.get("sku", String.class),
+                        row.get("name", String.class),
+                        row.get("description", String.class),
+                        row.get("category", String.class),
+                        row.get("price", BigDecimal.class),
+                        row.get("version", Long.class)))
+                .all();
+    }
+}
@@ -0,0 +1,95 @@
+package com.dailycodebuffer.security.reactive.repositories;
+
+import com.dailycodebuffer.security.entities.Role;
+import com.dailycodebuffer.security.entities.User;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lecture des utilisateurs, rôles et permissions via R2DBC (tables de l'application servlet)
+ */
+@Repository
+public class ReactiveUserRepository {
+
+    private static final String USER_BY_USERNAME = """
+            SELECT id, username, password, enabled, status, security_version
+            FROM users WHERE username = :username""";
+
+    private static final String SECURITY_VERSION_BY_USERNAME =
+            "SELECT security_version FROM users WHERE username = :username";
+
+    private static final String ROLES_BY_USER = """
+            SELECT r.id, r.name, r.active, rp.permission
+            FROM user_roles ur
+            JOIN roles r ON r.id = ur.role_id
+            LEFT JOIN role_permissions rp ON rp.role_id = r.id
+            WHERE ur.user_id = :userId""";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Charge un utilisateur avec ses rôles et permissions (vue "authentification")
+     */
+    public Mono<User> findByUsername(String username) {
+        return databaseClient.sql(USER_BY_USERNAME)
+                .bind("username", username)
+                .map((row, metadata) -> User.builder()
+                        .id(row.get("id", Long.class))
+                        .username(row.get("username", String.class))
+                        .password(row.get("password", String.class))
+                        .enabled(Boolean.TRUE.equals(row.get("enabled", Boolean.class)))
+                        .status(User.AccountStatus.valueOf(row.get("status", String.class)))
+                        .securityVersion(valueOrZero(row.get("security_version", Integer.class)))
+                        .build())
+                .one()
+                .flatMap(this::withRoles);
+    }
+
+    /**
+     * Version de sécurité courante du compte (vide si le compte n'existe pas)
+     */
+    public Mono<Integer> findSecurityVersion(String username) {
+        return databaseClient.sql(SECURITY_VERSION_BY_USERNAME)
+                .bind("username", username)
+                .map((row, metadata) -> valueOrZero(row.get("security_version", Integer.class)))
+                .one();
+    }
+
+    private Mono<User> withRoles(User user) {
+        Map<Long, Role> roles = new LinkedHashMap<>();
+        return databaseClient.sql(ROLES_BY_USER)
+                .bind("userId", user.getId())
+                .map((row, metadata) -> {
+                    Long roleId = row.get("id", Long.class);
+                    Role role = roles.computeIfAbsent(roleId, id -> Role.builder()
+                            .id(id)
+                            .name(row.get("name", String.class))
+                            .active(Boolean.TRUE.equals(row.get("active", Boolean.class)))
+                            .permissions(new HashSet<>())
+                            .build());
+                    String permission = row.get("permission", String.class);
+                    if (permission != null) {
+                        role.addPermission(permission);
+                    }
+                    return role;
+                })
+                .all()
+                .then(Mono.fromSupplier(() -> {
+                    user.getRoles().addAll(roles.values());
+                    return user;
+                }));
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
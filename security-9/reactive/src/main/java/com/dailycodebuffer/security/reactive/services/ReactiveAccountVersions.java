@@ -0,0 +1,51 @@
+package com.dailycodebuffer.security.reactive.services;
+
+import com.dailycodebuffer.security.reactive.repositories.ReactiveUserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Contrôle de la version de sécurité portée par les tokens (claim "sv")
+ *
+ * Même règle que l'application servlet : un token émis avant une désactivation,
+ * un changement de statut ou de rôles porte une version inférieure à
+ * users.security_version et est refusé. Les versions sont lues via R2DBC et
+ * gardées ttl-seconds ; les lectures concurrentes d'un même compte sont regroupées.
+ */
+@Service
+public class ReactiveAccountVersions {
+
+    /**
+     * Version d'un compte supprimé : aucun token ne l'atteint
+     */
+    private static final int REVOKED = Integer.MAX_VALUE;
+
+    private final ReactiveUserRepository userRepository;
+    private final AsyncCache<String, Integer> versions;
+
+    public ReactiveAccountVersions(ReactiveUserRepository userRepository,
+                                   @Value("${security.token-version.ttl-seconds:30}") long ttlSeconds,
+                                   @Value("${security.token-version.maximum-size:250000}") long maximumSize) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .buildAsync();
+    }
+
+    /**
+     * Indique si un token portant cette version est toujours accepté
+     */
+    public Mono<Boolean> isCurrent(String username, int tokenVersion) {
+        // Une lecture en échec n'est pas conservée par le cache
+        return Mono.fromFuture(versions.get(username, (key, executor) -> userRepository.findSecurityVersion(key)
+                        .defaultIfEmpty(REVOKED)
+                        .toFuture()))
+                .map(current -> tokenVersion >= current);
+    }
+}
@@ -0,0 +1,76 @@
+package com.dailycodebuffer.security.reactive.services;
+
+import com.dailycodebuffer.security.CustumUserDetails;
+import com.dailycodebuffer.security.entities.User;
+import com.dailycodebuffer.security.reactive.repositories.ReactiveUserRepository;
+import com.dailycodebuffer.security.services.JwtService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Connexion réactive : lecture R2DBC, vérification BCrypt, émission du JWT
+ *
+ * BCrypt coûte des dizaines de millisecondes de CPU : exécuté sur la boucle
+ * d'événements, il bloquerait toutes les connexions servies par ce thread.
+ * Il s'exécute sur un scheduler borné au nombre de coeurs.
+ */
+@Service
+public class ReactiveAuthService implements DisposableBean {
+
+    private final ReactiveUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final Scheduler hashingScheduler;
+    // Hachage de référence : un utilisateur inconnu coûte le même temps qu'un mauvais mot de passe
+    private final String dummyHash;
+
+    public ReactiveAuthService(ReactiveUserRepository userRepository,
+                               PasswordEncoder passwordEncoder,
+                               JwtService jwtService,
+                               @Value("${security.password.hashing.threads:0}") int threads) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.hashingScheduler = Schedulers.newParallel("password-hash", poolSize);
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Vérifie les identifiants et retourne un JWT, ou vide si la connexion échoue
+     */
+    public Mono<String> login(String username, String rawPassword) {
+        if (username == null || rawPassword == null) {
+            return Mono.empty();
+        }
+        return userRepository.findByUsername(username)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(user -> matches(rawPassword, user.map(User::getPassword).orElse(dummyHash))
+                        .filter(matched -> matched && user.isPresent() && canLogin(user.get()))
+                        .map(matched -> jwtService.generateToken(new CustumUserDetails(user.get(), List.of()))));
+    }
+
+    private Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword))
+                .subscribeOn(hashingScheduler);
+    }
+
+    private static boolean canLogin(User user) {
+        return user.isEnabled() && user.getStatus() == User.AccountStatus.ACTIVE;
+    }
+
+    @Override
+    public void destroy() {
+        hashingScheduler.dispose();
+    }
+}
@@ -3,7 +3,7 @@ package com.dailycodebuffer.security;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
 import com.dailycodebuffer.security.entities.User;
 
 /**
@@ -11,15 +11,17 @@ import com.dailycodebuffer.security.entities.User;
  */
 public class CustumUserDetails implements UserDetails {
     private final User user;
+    // Liste précalculée et partagée entre utilisateurs ayant les mêmes rôles (voir AuthorityTable)
+    private final List<GrantedAuthority> authorities;
 
-    public CustumUserDetails(User user) {
+    public CustumUserDetails(User user, List<GrantedAuthority> authorities) {
         this.user = user;
+        this.authorities = authorities;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // À adapter selon la gestion des rôles/permissions
-        return Collections.emptyList();
+        return authorities;
     }
 
     @Override
@@ -55,4 +57,4 @@ public class CustumUserDetails implements UserDetails {
     public User getUser() {
         return user;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
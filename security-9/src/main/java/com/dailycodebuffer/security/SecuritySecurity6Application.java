@@ -2,14 +2,17 @@ package com.dailycodebuffer.security;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principale de l'application Spring Boot Security
  * 
  * Cette classe configure l'application avec :
  * - Spring Boot Auto-configuration
+ * - Les tâches planifiées (écriture différée du suivi des connexions)
  */
 @SpringBootApplication
+@EnableScheduling
 public class SecuritySecurity6Application {
 
 	public static void main(String[] args) {
@@ -0,0 +1,23 @@
+package com.dailycodebuffer.security.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal de diffusion des invalidations de cache entre instances
+ *
+ * L'implémentation par défaut ({@link InProcessCacheInvalidationChannel}) reste
+ * dans la JVM. Un déploiement en cluster fournit sa propre implémentation
+ * (Redis pub/sub, PostgreSQL LISTEN/NOTIFY, broker...) déclarée en @Primary.
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * Diffuse un événement à toutes les instances abonnées
+     */
+    void publish(CacheInvalidationEvent event);
+
+    /**
+     * Abonne un récepteur aux événements du canal
+     */
+    void subscribe(Consumer<CacheInvalidationEvent> listener);
+}
@@ -0,0 +1,13 @@
+package com.dailycodebuffer.security.cache;
+
+import java.io.Serializable;
+
+/**
+ * Message d'invalidation diffusé entre les instances de l'application
+ *
+ * @param originNodeId Instance émettrice (ignorée à la réception par l'émetteur)
+ * @param region Type de données invalidées (ex : "Role")
+ * @param entityId Identifiant de l'entité modifiée, ou null pour toute la région
+ */
+public record CacheInvalidationEvent(String originNodeId, String region, Long entityId) implements Serializable {
+}
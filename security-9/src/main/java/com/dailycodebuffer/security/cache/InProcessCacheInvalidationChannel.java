@@ -0,0 +1,32 @@
+package com.dailycodebuffer.security.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Canal d'invalidation local : livre les événements de façon synchrone
+ * aux abonnés de la même JVM
+ *
+ * Suffisant pour une instance unique, et sert de substitut de cluster dans
+ * les tests (plusieurs invalidateurs abonnés au même canal).
+ */
+@Component
+public class InProcessCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private final List<Consumer<CacheInvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidationEvent event) {
+        for (Consumer<CacheInvalidationEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationEvent> listener) {
+        listeners.add(listener);
+    }
+}
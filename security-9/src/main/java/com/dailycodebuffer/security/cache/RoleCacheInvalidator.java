@@ -0,0 +1,96 @@
+package com.dailycodebuffer.security.cache;
+
+import com.dailycodebuffer.security.entities.Role;
+import com.dailycodebuffer.security.services.AccountVersionRegistry;
+import com.dailycodebuffer.security.services.AuthorityTable;
+import com.dailycodebuffer.security.services.PermissionIndex;
+import com.dailycodebuffer.security.services.TransactionHooks;
+import com.dailycodebuffer.security.services.UserDetailsCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Invalidation des caches de rôles entre instances
+ *
+ * Localement, Hibernate maintient le cache de second niveau (stratégie
+ * READ_WRITE) et le cache de requêtes (horodatage des tables). Les autres
+ * instances n'en savent rien : après commit, chaque modification de rôle est
+ * diffusée sur le {@link CacheInvalidationChannel}, et à la réception les
+ * données correspondantes sont évincées (entité, collection de permissions,
+ * régions de requêtes, UserDetails, autorités précalculées et versions de
+ * sécurité connues) et l'index des permissions est rechargé pour ce rôle.
+ */
+@Component
+public class RoleCacheInvalidator {
+
+    public static final String REGION = "Role";
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleCacheInvalidator.class);
+    private static final String PERMISSIONS_ROLE = Role.class.getName() + ".permissions";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheInvalidationChannel channel;
+    // Résolu à la demande : ce bean est requis par les listeners JPA, créés avec l'EntityManagerFactory
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final UserDetailsCache userDetailsCache;
+    private final AuthorityTable authorityTable;
+    private final PermissionIndex permissionIndex;
+    private final AccountVersionRegistry accountVersionRegistry;
+
+    public RoleCacheInvalidator(CacheInvalidationChannel channel,
+                                ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                                UserDetailsCache userDetailsCache,
+                                AuthorityTable authorityTable,
+                                PermissionIndex permissionIndex,
+                                AccountVersionRegistry accountVersionRegistry) {
+        this.channel = channel;
+        this.entityManagerFactory = entityManagerFactory;
+        this.userDetailsCache = userDetailsCache;
+        this.authorityTable = authorityTable;
+        this.permissionIndex = permissionIndex;
+        this.accountVersionRegistry = accountVersionRegistry;
+        channel.subscribe(this::onEvent);
+    }
+
+    /**
+     * Signale la modification d'un rôle aux autres instances, après commit
+     */
+    public void roleChanged(Long roleId) {
+        CacheInvalidationEvent event = new CacheInvalidationEvent(nodeId, REGION, roleId);
+        TransactionHooks.afterCommit(() -> channel.publish(event));
+    }
+
+    private void onEvent(CacheInvalidationEvent event) {
+        if (nodeId.equals(event.originNodeId()) || !REGION.equals(event.region())) {
+            return;
+        }
+        logger.debug("Invalidation distante du rôle {}", event.entityId());
+
+        Cache cache = entityManagerFactory.getObject().getCache().unwrap(Cache.class);
+        if (event.entityId() != null) {
+            cache.evictEntityData(Role.class, event.entityId());
+            cache.evictCollectionData(PERMISSIONS_ROLE, event.entityId());
+        } else {
+            cache.evictEntityData(Role.class);
+            cache.evictCollectionData(PERMISSIONS_ROLE);
+        }
+        // Les résultats de findByName / findByNameIn / findByPermission peuvent avoir changé
+        cache.evictQueryRegions();
+
+        userDetailsCache.invalidateAll();
+        authorityTable.clear();
+        // Les membres du rôle ont reçu une nouvelle version de sécurité
+        accountVersionRegistry.invalidateAll();
+        permissionIndex.refresh(event.entityId());
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+}
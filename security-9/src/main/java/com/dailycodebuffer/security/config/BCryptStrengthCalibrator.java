@@ -0,0 +1,56 @@
+package com.dailycodebuffer.security.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Calibre le facteur de coût BCrypt sur le CPU de l'hôte
+ *
+ * Mesure le temps d'un hachage à un coût de référence, puis retient le coût
+ * le plus élevé dont le temps estimé (doublé à chaque niveau) reste dans le
+ * budget de latence configuré, borné par un minimum et un maximum.
+ */
+public final class BCryptStrengthCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptStrengthCalibrator.class);
+
+    private static final int REFERENCE_STRENGTH = 8;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * @param targetMillis Budget de latence visé pour un hachage
+     * @param minStrength Coût minimal accepté (plancher de sécurité)
+     * @param maxStrength Coût maximal accepté
+     * @return Le coût retenu
+     */
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder reference = new BCryptPasswordEncoder(REFERENCE_STRENGTH);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            reference.encode(SAMPLE_PASSWORD);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            reference.encode(SAMPLE_PASSWORD);
+        }
+        double referenceMillis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+
+        int strength = minStrength;
+        while (strength < maxStrength
+                && estimate(referenceMillis, strength + 1) <= targetMillis) {
+            strength++;
+        }
+        logger.info("Coût BCrypt calibré: {} (~{} ms par hachage, budget {} ms)",
+                strength, Math.round(estimate(referenceMillis, strength)), targetMillis);
+        return strength;
+    }
+
+    private static double estimate(double referenceMillis, int strength) {
+        return referenceMillis * Math.pow(2, strength - REFERENCE_STRENGTH);
+    }
+}
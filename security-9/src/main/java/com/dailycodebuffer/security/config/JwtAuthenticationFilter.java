@@ -1 +1,113 @@
- 
\ No newline at end of file
+package com.dailycodebuffer.security.config;
+
+import com.dailycodebuffer.security.exception.JwtException;
+import com.dailycodebuffer.security.services.AccountVersionRegistry;
+import com.dailycodebuffer.security.services.AuthorityTable;
+import com.dailycodebuffer.security.services.JwtService;
+import com.dailycodebuffer.security.services.VerifiedToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Filtre d'authentification JWT sans état
+ *
+ * Construit le SecurityContext uniquement à partir des claims signés du token
+ * (username, rôles, permissions, version de sécurité du compte), sans appeler
+ * CustumUserDetailsService. Seule la version de sécurité est contrôlée en base,
+ * via le cache court d'{@link AccountVersionRegistry} (au plus une requête par
+ * compte et par intervalle, pas une par appel d'API).
+ *
+ * Un token absent ou invalide laisse la requête non authentifiée ; la règle
+ * d'autorisation de la chaîne de sécurité décide ensuite de la réponse.
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final AccountVersionRegistry accountVersionRegistry;
+    private final AuthorityTable authorityTable;
+
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   AccountVersionRegistry accountVersionRegistry,
+                                   AuthorityTable authorityTable) {
+        this.jwtService = jwtService;
+        this.accountVersionRegistry = accountVersionRegistry;
+        this.authorityTable = authorityTable;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            VerifiedToken token = jwtService.verify(header.substring(BEARER_PREFIX.length()).trim());
+            String username = token.subject();
+            if (username != null && isCurrentVersion(username, token)) {
+                UsernamePasswordAuthenticationToken authentication =
+                        UsernamePasswordAuthenticationToken.authenticated(username, null, authorities(token));
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        } catch (JwtException e) {
+            logger.debug("Token JWT rejeté: {}", e.getMessage());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isCurrentVersion(String username, VerifiedToken token) {
+        Number version = token.claim(JwtService.CLAIM_SECURITY_VERSION, Number.class);
+        if (version == null || !accountVersionRegistry.isCurrent(username, version.intValue())) {
+            logger.debug("Token JWT obsolète pour {}", username);
+            return false;
+        }
+        return true;
+    }
+
+    // Les autorités internées sont partagées entre tous les tokens ayant les mêmes claims
+    private Collection<GrantedAuthority> authorities(VerifiedToken token) {
+        return authorityTable.authoritiesFor(
+                names(token.claim(JwtService.CLAIM_ROLES, Collection.class)),
+                names(token.claim(JwtService.CLAIM_PERMISSIONS, Collection.class)));
+    }
+
+    private static List<String> names(Collection<?> values) {
+        if (values == null) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>(values.size());
+        for (Object value : values) {
+            names.add(value.toString());
+        }
+        return names;
+    }
+}
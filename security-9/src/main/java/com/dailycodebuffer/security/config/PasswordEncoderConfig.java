@@ -0,0 +1,44 @@
+package com.dailycodebuffer.security.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Configuration de l'encodeur de mots de passe
+ *
+ * Séparée de {@link WebSecurityConfig} : les services qui hachent des mots de passe
+ * (inscription, provisionnement) n'ont pas à attendre la chaîne de filtres de sécurité,
+ * qui dépend elle-même de ces services.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    /**
+     * Encodeur délégant : les nouveaux hachages sont préfixés {bcrypt} avec le coût cible,
+     * les anciens hachages BCrypt sans préfixe restent vérifiables.
+     * Tout hachage dont le format ou le coût diffère de la cible est mis à jour
+     * au prochain login réussi (via UserDetailsPasswordService).
+     *
+     * @param bcryptStrength Coût BCrypt fixe ; 0 = calibré au démarrage selon le budget de latence
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password.bcrypt.strength:0}") int bcryptStrength,
+                                           @Value("${security.password.bcrypt.target-millis:50}") long bcryptTargetMillis,
+                                           @Value("${security.password.bcrypt.min-strength:10}") int bcryptMinStrength,
+                                           @Value("${security.password.bcrypt.max-strength:14}") int bcryptMaxStrength) {
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : BCryptStrengthCalibrator.calibrate(bcryptTargetMillis, bcryptMinStrength, bcryptMaxStrength);
+        TunedBCryptPasswordEncoder bcrypt = new TunedBCryptPasswordEncoder(strength, meterRegistry);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+}
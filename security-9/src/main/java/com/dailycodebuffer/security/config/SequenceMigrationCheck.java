@@ -0,0 +1,79 @@
+package com.dailycodebuffer.security.config;
+
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vérifie au démarrage que la migration db/migration/identity-to-sequence.sql a été appliquée
+ *
+ * Sur une base existante (tables users / roles présentes), les séquences users_seq et
+ * roles_seq doivent exister avant le démarrage de Hibernate : sinon ddl-auto=update les
+ * crée à partir de 1 et les premières insertions entrent en collision avec les ids existants.
+ * Une base vide n'est pas concernée, Hibernate crée tables et séquences ensemble.
+ */
+public class SequenceMigrationCheck implements InitializingBean {
+
+    static final String MIGRATION_SCRIPT = "db/migration/identity-to-sequence.sql";
+
+    // Table -> séquence attendue (voir @SequenceGenerator sur User et Role)
+    private static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("users", "users_seq");
+        SEQUENCES.put("roles", "roles_seq");
+    }
+
+    // information_schema : commun à PostgreSQL et H2
+    private static final String TABLE_EXISTS =
+            "SELECT 1 FROM information_schema.tables WHERE lower(table_schema) = lower(?) AND lower(table_name) = ?";
+    private static final String SEQUENCE_EXISTS =
+            "SELECT 1 FROM information_schema.sequences WHERE lower(sequence_schema) = lower(?) AND lower(sequence_name) = ?";
+
+    private final DataSource dataSource;
+
+    public SequenceMigrationCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        List<String> missing = missingSequences();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Séquences manquantes " + missing
+                    + " : exécuter " + MIGRATION_SCRIPT + " (application arrêtée) avant de démarrer, voir README");
+        }
+    }
+
+    List<String> missingSequences() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            String schema = connection.getSchema();
+            for (Map.Entry<String, String> entry : SEQUENCES.entrySet()) {
+                if (exists(connection, TABLE_EXISTS, schema, entry.getKey())
+                        && !exists(connection, SEQUENCE_EXISTS, schema, entry.getValue())) {
+                    missing.add(entry.getValue());
+                }
+            }
+        }
+        return missing;
+    }
+
+    private static boolean exists(Connection connection, String sql, String schema, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, schema);
+            statement.setString(2, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+}
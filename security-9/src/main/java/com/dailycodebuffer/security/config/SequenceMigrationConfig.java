@@ -0,0 +1,28 @@
+package com.dailycodebuffer.security.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Branche {@link SequenceMigrationCheck} avant l'EntityManagerFactory
+ *
+ * La vérification doit précéder ddl-auto, qui créerait sinon les séquences manquantes
+ * (même principe que l'intégration Flyway de Spring Boot).
+ */
+@Configuration
+public class SequenceMigrationConfig {
+
+    @Bean
+    public SequenceMigrationCheck sequenceMigrationCheck(DataSource dataSource) {
+        return new SequenceMigrationCheck(dataSource);
+    }
+
+    // Statique : post-processeur de fabrique, enregistré avant les autres beans
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor sequenceMigrationCheckDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("sequenceMigrationCheck");
+    }
+}
@@ -0,0 +1,92 @@
+package com.dailycodebuffer.security.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCryptPasswordEncoder dont le facteur de coût est choisi par déploiement
+ *
+ * Contrairement à l'implémentation standard, qui ne signale que les hachages
+ * plus faibles que la cible, un hachage est à mettre à jour dès que son coût
+ * diffère de la cible (plus faible ou plus fort) : baisser la cible réduit
+ * aussi la latence des comptes déjà hachés, au fil des connexions.
+ *
+ * Métrique auth.password.bcrypt (operation = encode | matches), tag strength = coût cible.
+ */
+public class TunedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TunedBCryptPasswordEncoder(int strength) {
+        this(strength, new CompositeMeterRegistry());
+    }
+
+    public TunedBCryptPasswordEncoder(int strength, MeterRegistry meterRegistry) {
+        super(strength);
+        this.strength = strength;
+        this.encodeTimer = bcryptTimer(meterRegistry, "encode", strength);
+        this.matchesTimer = bcryptTimer(meterRegistry, "matches", strength);
+    }
+
+    private static Timer bcryptTimer(MeterRegistry meterRegistry, String operation, int strength) {
+        return Timer.builder("auth.password.bcrypt")
+                .description("Durée d'un calcul BCrypt")
+                .tag("operation", operation)
+                .tag("strength", String.valueOf(strength))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        try {
+            return super.encode(rawPassword);
+        } finally {
+            encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return super.matches(rawPassword, encodedPassword);
+        } finally {
+            matchesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int encodedStrength = strengthOf(encodedPassword);
+        return encodedStrength < 0 || encodedStrength != strength;
+    }
+
+    /**
+     * Extrait le coût d'un hachage au format $2a$10$..., ou -1 s'il est illisible
+     */
+    static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int separator = encodedPassword.indexOf('$', 1);
+        if (separator < 0 || separator + 3 > encodedPassword.length()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(separator + 1, separator + 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -1,34 +1,45 @@
 package com.dailycodebuffer.security.config;
 
-import com.dailycodebuffer.security.services.CustumUserDetailsService;
+import com.dailycodebuffer.security.services.CachedUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
  * Configuration principale de la sécurité Spring Boot avec JWT.
+ * Les permissions (PRODUCT_READ, ...) sont vérifiées par @PreAuthorize sur les contrôleurs.
  */
 @Configuration
+@EnableMethodSecurity
 public class WebSecurityConfig {
-    @Autowired
-    private JwtAuthenticationFilter jwtAuthenticationFilter;
-    @Autowired
-    private CustumUserDetailsService userDetailsService;
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final CachedUserDetailsService userDetailsService;
+
+    public WebSecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                             CachedUserDetailsService userDetailsService) {
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.userDetailsService = userDetailsService;
+    }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .csrf().disable()
             .authorizeHttpRequests()
-                .requestMatchers("/auth/**").permitAll()
+                // Seuls l'inscription et la connexion sont publiques ; /auth/users/** exige un token
+                .requestMatchers("/auth/login", "/auth/register").permitAll()
+                // Sondes et scraping Prometheus : exposés sur le port de management (non public)
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated()
             .and()
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
@@ -37,13 +48,29 @@ public class WebSecurityConfig {
         return http.build();
     }
 
+    /**
+     * Le filtre JWT est un bean : on empêche Spring Boot de l'enregistrer aussi
+     * dans la chaîne de filtres du conteneur, il ne s'exécute que dans celle de Spring Security
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
+        return configuration.getAuthenticationManager();
     }
 
+    /**
+     * Hachages mis à jour au prochain login réussi (encodeur : {@link PasswordEncoderConfig})
+     */
     @Autowired
-    public void configureGlobal(AuthenticationManagerBuilder auth) throws Exception {
-        auth.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder());
+    public void configureGlobal(AuthenticationManagerBuilder auth, PasswordEncoder passwordEncoder) throws Exception {
+        auth.userDetailsService(userDetailsService)
+                .passwordEncoder(passwordEncoder)
+                .userDetailsPasswordManager(userDetailsService);
     }
 } 
\ No newline at end of file
@@ -1,20 +1,121 @@
 package com.dailycodebuffer.security.controller;
 
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-import java.util.List;
-import java.util.Arrays;
+import com.dailycodebuffer.security.dto.ProductDto;
+import com.dailycodebuffer.security.dto.ProductImportStatus;
+import com.dailycodebuffer.security.dto.ProductPage;
+import com.dailycodebuffer.security.dto.ProductRequest;
+import com.dailycodebuffer.security.services.ProductImportService;
+import com.dailycodebuffer.security.services.ProductService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
 
 /**
- * Contrôleur REST d'exemple pour les produits.
+ * Contrôleur REST du catalogue produits.
  */
 @RestController
 @RequestMapping("/products")
 public class ProductController {
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductImportService productImportService;
+
+    /**
+     * Endpoint de liste paginée des produits
+     * GET /products?category=&minPrice=&maxPrice=&q=&sort=id|name|price&desc=false&after=&size=
+     * Pagination par clé : passer nextCursor de la réponse en paramètre "after".
+     * Réponse avec ETag : un If-None-Match identique renvoie 304 sans corps.
+     */
     @GetMapping
-    public List<String> getProducts() {
-        // Exemple statique
-        return Arrays.asList("Produit 1", "Produit 2", "Produit 3");
+    @PreAuthorize("hasAuthority('PRODUCT_READ')")
+    public ResponseEntity<ProductPage> getProducts(@RequestParam(required = false) String category,
+                                                   @RequestParam(required = false) BigDecimal minPrice,
+                                                   @RequestParam(required = false) BigDecimal maxPrice,
+                                                   @RequestParam(name = "q", required = false) String search,
+                                                   @RequestParam(defaultValue = "id") String sort,
+                                                   @RequestParam(defaultValue = "false") boolean desc,
+                                                   @RequestParam(required = false) String after,
+                                                   @RequestParam(defaultValue = "" + ProductService.DEFAULT_PAGE_SIZE) int size) {
+        ProductService.PageResult result;
+        try {
+            ProductService.SortField sortField = ProductService.SortField.valueOf(sort.toUpperCase());
+            result = productService.getPage(new ProductService.PageQuery(
+                    category, minPrice, maxPrice, search, sortField, desc, after, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Le 304 est produit à partir de l'ETag, avant toute sérialisation du corps
+        return ResponseEntity.ok()
+                .eTag(result.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(result.page());
+    }
+
+    /**
+     * Endpoint pour obtenir un produit par son id
+     * GET /products/{id}
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAuthority('PRODUCT_READ')")
+    public ResponseEntity<ProductDto> getProduct(@PathVariable Long id) {
+        return productService.getProduct(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint de création d'un produit
+     * POST /products
+     */
+    @PostMapping
+    @PreAuthorize("hasAuthority('PRODUCT_CREATE')")
+    public ResponseEntity<ProductDto> createProduct(@Valid @RequestBody ProductRequest request) {
+        ProductDto created = productService.create(request);
+        return ResponseEntity.created(URI.create("/products/" + created.id())).body(created);
+    }
+
+    /**
+     * Endpoint d'import en masse du catalogue
+     * POST /products/import?format=ndjson|csv
+     * Le corps est reçu puis importé en arrière-plan par lots ; les produits sont identifiés
+     * par leur sku (création ou mise à jour). Réponse 202 : l'en-tête Location pointe vers
+     * le suivi du job (503 avec Retry-After si trop d'imports sont en attente,
+     * 413 au-delà de products.import.max-bytes).
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasAuthority('PRODUCT_CREATE') and hasAuthority('PRODUCT_UPDATE')")
+    public ResponseEntity<ProductImportStatus> importProducts(@RequestParam(defaultValue = "ndjson") String format,
+                                                              InputStream body) throws IOException {
+        ProductImportService.Format importFormat;
+        try {
+            importFormat = ProductImportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        ProductImportStatus status = productImportService.startImport(importFormat, body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/products/import/" + status.jobId()))
+                .body(status);
+    }
+
+    /**
+     * Endpoint de suivi d'un import (progression et débit, pendant ou après le job)
+     * GET /products/import/{jobId}
+     */
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasAuthority('PRODUCT_CREATE')")
+    public ResponseEntity<ProductImportStatus> getImportStatus(@PathVariable String jobId) {
+        return productImportService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
-} 
\ No newline at end of file
+}
@@ -1,12 +1,26 @@
 package com.dailycodebuffer.security.controller;
 
+import com.dailycodebuffer.security.dto.BulkUserReport;
+import com.dailycodebuffer.security.dto.BulkUserRequest;
+import com.dailycodebuffer.security.dto.UserPage;
+import com.dailycodebuffer.security.dto.UserSummaryDto;
 import com.dailycodebuffer.security.entities.User;
+import com.dailycodebuffer.security.services.LoginRateLimiter;
+import com.dailycodebuffer.security.services.UserExportService;
+import com.dailycodebuffer.security.services.UserProvisioningService;
 import com.dailycodebuffer.security.services.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Contrôleur REST pour la gestion des utilisateurs et l'authentification.
@@ -16,47 +30,102 @@ import java.util.List;
 public class UserController {
     @Autowired
     private UserService userService;
+    @Autowired
+    private UserExportService userExportService;
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
 
     /**
      * Endpoint pour l'inscription d'un nouvel utilisateur
      * POST /auth/register
+     * Le thread de requête est libéré pendant le hachage du mot de passe
      */
     @PostMapping("/register")
-    public ResponseEntity<User> register(@RequestBody User user) {
-        User created = userService.register(user);
-        return ResponseEntity.ok(created);
+    public CompletableFuture<ResponseEntity<User>> register(@RequestBody User user) {
+        return userService.registerAsync(user)
+                .thenApply(ResponseEntity::ok);
     }
 
     /**
      * Endpoint pour la connexion d'un utilisateur
      * POST /auth/login
      * Retourne un JWT si la connexion réussit
+     * Le thread de requête est libéré pendant la vérification du mot de passe
+     * Limité par nom d'utilisateur et par adresse IP (429 avant toute vérification)
+     * 401 si les identifiants sont refusés ; les autres erreurs passent par le gestionnaire global
      */
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody User user) {
-        String jwt = userService.verify(user);
-        if (jwt == null || jwt.equals("fail")) {
-            return ResponseEntity.status(401).body("Identifiants invalides");
-        }
-        return ResponseEntity.ok(jwt);
+    public CompletableFuture<ResponseEntity<String>> login(@RequestBody User user, HttpServletRequest request) {
+        loginRateLimiter.check(user.getUsername(), request.getRemoteAddr());
+        return userService.verifyAsync(user)
+                .thenApply(result -> {
+                    if (!result.isAuthenticated()) {
+                        return ResponseEntity.status(401).body("Identifiants invalides");
+                    }
+                    return ResponseEntity.ok(result.token());
+                });
     }
 
     /**
-     * Endpoint pour obtenir la liste de tous les utilisateurs (protégé)
-     * GET /auth/users
+     * Endpoint pour obtenir la liste paginée des utilisateurs (permission USER_READ)
+     * GET /auth/users?after={dernier id}&size={taille}
+     * Pagination par clé : passer nextCursor de la réponse en paramètre "after"
      */
     @GetMapping("/users")
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    @PreAuthorize("hasAuthority('USER_READ')")
+    public UserPage getUsers(@RequestParam(required = false) Long after,
+                             @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size) {
+        return userService.getUsersPage(after, size);
+    }
+
+    /**
+     * Endpoint d'export de tous les utilisateurs avec leurs rôles (permission USER_READ)
+     * GET /auth/users/export?format=ndjson|csv
+     * La réponse est écrite en flux, sans charger la table en mémoire
+     */
+    @GetMapping("/users/export")
+    @PreAuthorize("hasAuthority('USER_READ')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        UserExportService.Format exportFormat;
+        try {
+            exportFormat = UserExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> userExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"users." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Endpoint de provisionnement en masse (permission USER_CREATE)
+     * POST /auth/users/bulk
+     * Retourne un résultat par ligne (créé, invalide, en conflit, en échec)
+     * 413 si la requête dépasse security.provisioning.max-batch comptes
+     */
+    @PostMapping("/users/bulk")
+    @PreAuthorize("hasAuthority('USER_CREATE')")
+    public ResponseEntity<BulkUserReport> provisionUsers(@RequestBody List<BulkUserRequest> requests) {
+        if (requests.size() > userProvisioningService.getMaxBatch()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(userProvisioningService.provision(requests));
     }
 
     /**
-     * Endpoint pour obtenir un utilisateur par son id (protégé)
+     * Endpoint pour obtenir un utilisateur par son id (permission USER_READ)
      * GET /auth/users/{id}
      */
     @GetMapping("/users/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
+    @PreAuthorize("hasAuthority('USER_READ')")
+    public ResponseEntity<UserSummaryDto> getUserById(@PathVariable Long id) {
         return userService.getUserById(id)
+                .map(UserSummaryDto::of)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
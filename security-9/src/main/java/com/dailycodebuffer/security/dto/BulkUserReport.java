@@ -0,0 +1,13 @@
+package com.dailycodebuffer.security.dto;
+
+import java.util.List;
+
+/**
+ * Bilan d'un provisionnement en masse
+ *
+ * @param created Comptes créés
+ * @param rejected Lignes refusées
+ * @param results Résultat de chaque ligne, dans l'ordre de la requête
+ */
+public record BulkUserReport(int created, int rejected, List<BulkUserResult> results) {
+}
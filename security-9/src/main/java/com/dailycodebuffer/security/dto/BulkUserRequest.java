@@ -0,0 +1,19 @@
+package com.dailycodebuffer.security.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+
+/**
+ * Compte à créer dans un provisionnement en masse
+ */
+public record BulkUserRequest(
+        @NotBlank @Size(min = 3, max = 50) String username,
+        @NotBlank @Email String email,
+        @NotBlank @Size(min = 6) String password,
+        @Size(max = 50) String firstName,
+        @Size(max = 50) String lastName,
+        Set<String> roles) {
+}
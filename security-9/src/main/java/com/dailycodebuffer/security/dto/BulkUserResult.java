@@ -0,0 +1,28 @@
+package com.dailycodebuffer.security.dto;
+
+/**
+ * Résultat du provisionnement d'une ligne
+ *
+ * @param index Position de la ligne dans la requête
+ * @param username Nom d'utilisateur demandé
+ * @param status CREATED, INVALID, CONFLICT ou FAILED
+ * @param id Id de l'utilisateur créé, null sinon
+ * @param message Cause du refus, null si créé
+ */
+public record BulkUserResult(int index, String username, Status status, Long id, String message) {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        CONFLICT,
+        FAILED
+    }
+
+    public static BulkUserResult created(int index, String username, Long id) {
+        return new BulkUserResult(index, username, Status.CREATED, id, null);
+    }
+
+    public static BulkUserResult rejected(int index, String username, Status status, String message) {
+        return new BulkUserResult(index, username, status, null, message);
+    }
+}
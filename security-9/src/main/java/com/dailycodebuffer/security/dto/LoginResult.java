@@ -0,0 +1,26 @@
+package com.dailycodebuffer.security.dto;
+
+/**
+ * Résultat d'une tentative de connexion
+ *
+ * Seul le refus des identifiants (mot de passe, compte inconnu, verrouillé ou désactivé)
+ * est un résultat : toute autre erreur est propagée.
+ *
+ * @param token JWT émis, null si les identifiants sont refusés
+ */
+public record LoginResult(String token) {
+
+    private static final LoginResult REJECTED = new LoginResult(null);
+
+    public static LoginResult authenticated(String token) {
+        return new LoginResult(token);
+    }
+
+    public static LoginResult rejected() {
+        return REJECTED;
+    }
+
+    public boolean isAuthenticated() {
+        return token != null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.dailycodebuffer.security.dto;
+
+import com.dailycodebuffer.security.entities.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * Représentation publique d'un produit
+ */
+public record ProductDto(
+        Long id,
+        String sku,
+        String name,
+        String description,
+        String category,
+        BigDecimal price,
+        Long version) {
+
+    public static ProductDto of(Product product) {
+        return new ProductDto(
+                product.getId(),
+                product.getSku(),
+                product.getName(),
+                product.getDescription(),
+                product.getCategory(),
+                product.getPrice(),
+                product.getVersion());
+    }
+}
@@ -0,0 +1,19 @@
+package com.dailycodebuffer.security.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * Ligne d'un import de catalogue (CSV ou NDJSON), identifiée par sa référence
+ */
+public record ProductImportRow(
+        @NotBlank @Size(max = 64) String sku,
+        @NotBlank @Size(max = 150) String name,
+        @Size(max = 1000) String description,
+        @NotBlank @Size(max = 50) String category,
+        @NotNull @DecimalMin("0.00") BigDecimal price) {
+}
@@ -0,0 +1,31 @@
+package com.dailycodebuffer.security.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * État d'un import de catalogue
+ *
+ * @param jobId Identifiant du job
+ * @param state QUEUED, RUNNING, COMPLETED ou FAILED
+ * @param rowsRead Lignes lues
+ * @param inserted Produits créés
+ * @param updated Produits mis à jour
+ * @param rejected Lignes rejetées (validation)
+ * @param rowsPerSecond Débit moyen depuis le début du job
+ * @param startedAt Début du job (réception du fichier tant qu'il est en attente)
+ * @param finishedAt Fin du job, null s'il est en cours
+ * @param errors Premières erreurs ("ligne N: message")
+ */
+public record ProductImportStatus(
+        String jobId,
+        String state,
+        long rowsRead,
+        long inserted,
+        long updated,
+        long rejected,
+        double rowsPerSecond,
+        Instant startedAt,
+        Instant finishedAt,
+        List<String> errors) {
+}
@@ -0,0 +1,12 @@
+package com.dailycodebuffer.security.dto;
+
+import java.util.List;
+
+/**
+ * Page de produits paginée par clé
+ *
+ * @param items Produits de la page
+ * @param nextCursor Curseur opaque à passer en paramètre "after" pour la page suivante, null s'il n'y en a plus
+ */
+public record ProductPage(List<ProductDto> items, String nextCursor) {
+}
@@ -0,0 +1,12 @@
+package com.dailycodebuffer.security.dto;
+
+import java.util.List;
+
+/**
+ * Page d'utilisateurs paginée par clé
+ *
+ * @param items Utilisateurs de la page
+ * @param nextCursor Valeur à passer en paramètre "after" pour la page suivante, null s'il n'y en a plus
+ */
+public record UserPage(List<UserSummaryDto> items, Long nextCursor) {
+}
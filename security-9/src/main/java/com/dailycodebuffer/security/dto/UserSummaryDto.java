@@ -0,0 +1,52 @@
+package com.dailycodebuffer.security.dto;
+
+import com.dailycodebuffer.security.entities.Role;
+import com.dailycodebuffer.security.entities.User;
+import com.dailycodebuffer.security.repositories.UserSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Représentation publique d'un utilisateur dans les listes
+ */
+public record UserSummaryDto(
+        Long id,
+        String username,
+        String email,
+        String firstName,
+        String lastName,
+        User.AccountStatus status,
+        boolean enabled,
+        LocalDateTime createdAt,
+        List<String> roles) {
+
+    public static UserSummaryDto of(UserSummary user, List<String> roles) {
+        return new UserSummaryDto(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getStatus(),
+                user.isEnabled(),
+                user.getCreatedAt(),
+                roles);
+    }
+
+    /**
+     * Depuis l'entité (rôles chargés) : jamais le hachage du mot de passe ni les jetons d'activation
+     */
+    public static UserSummaryDto of(User user) {
+        return new UserSummaryDto(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getStatus(),
+                user.isEnabled(),
+                user.getCreatedAt(),
+                user.getRoles().stream().map(Role::getName).sorted().toList());
+    }
+}
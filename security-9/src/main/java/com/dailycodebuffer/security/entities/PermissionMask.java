@@ -0,0 +1,130 @@
+package com.dailycodebuffer.security.entities;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Ensemble immuable de permissions sous forme de masque de bits
+ *
+ * Chaque bit correspond à l'identifiant attribué par {@link PermissionRegistry}.
+ * Les tests "au moins une" / "toutes" se réduisent à quelques AND mot par mot.
+ */
+public final class PermissionMask {
+
+    public static final PermissionMask EMPTY = new PermissionMask(new long[0]);
+
+    private final long[] words;
+
+    private PermissionMask(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Construit le masque d'un ensemble de permissions
+     */
+    public static PermissionMask of(Collection<String> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return EMPTY;
+        }
+        long[] words = new long[0];
+        for (String permission : permissions) {
+            words = set(words, PermissionRegistry.idOf(permission));
+        }
+        return new PermissionMask(words);
+    }
+
+    /**
+     * Construit le masque d'une liste de permissions (à précalculer pour les vérifications fréquentes)
+     */
+    public static PermissionMask of(String... permissions) {
+        return of(Arrays.asList(permissions));
+    }
+
+    private static long[] set(long[] words, int id) {
+        int index = id >>> 6;
+        if (index >= words.length) {
+            words = Arrays.copyOf(words, index + 1);
+        }
+        words[index] |= 1L << id;
+        return words;
+    }
+
+    /**
+     * Vérifie si le masque contient la permission d'identifiant donné
+     */
+    public boolean contains(int id) {
+        int index = id >>> 6;
+        return id >= 0 && index < words.length && (words[index] & (1L << id)) != 0;
+    }
+
+    /**
+     * Vérifie si au moins une des permissions demandées est présente
+     */
+    public boolean intersects(PermissionMask other) {
+        int length = Math.min(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vérifie si toutes les permissions demandées sont présentes
+     */
+    public boolean containsAll(PermissionMask required) {
+        for (int i = 0; i < required.words.length; i++) {
+            if ((word(i) & required.words[i]) != required.words[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mot de 64 bits à l'index donné (0 au-delà de la taille du masque)
+     */
+    public long word(int index) {
+        return index < words.length ? words[index] : 0L;
+    }
+
+    /**
+     * Nombre de mots de 64 bits du masque
+     */
+    public int wordCount() {
+        return words.length;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof PermissionMask other)) {
+            return false;
+        }
+        int length = Math.max(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            if (word(i) != other.word(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.hashCode(Arrays.copyOf(words, length));
+    }
+}
@@ -0,0 +1,48 @@
+package com.dailycodebuffer.security.entities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registre des permissions : associe à chaque nom de permission
+ * (USER_CREATE, PRODUCT_READ, ...) un identifiant entier dense
+ *
+ * Les identifiants servent d'index de bit dans les {@link PermissionMask}.
+ * Ils sont attribués à la première rencontre d'une permission et restent
+ * stables pendant toute la vie de l'application (ils ne sont jamais persistés).
+ */
+public final class PermissionRegistry {
+
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    private PermissionRegistry() {
+    }
+
+    /**
+     * Retourne l'identifiant d'une permission, en l'enregistrant si nécessaire
+     */
+    public static int idOf(String permission) {
+        Integer id = ids.get(permission);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(permission, p -> nextId.getAndIncrement());
+    }
+
+    /**
+     * Retourne l'identifiant d'une permission déjà connue, ou -1
+     */
+    public static int find(String permission) {
+        Integer id = ids.get(permission);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Nombre de permissions enregistrées
+     */
+    public static int size() {
+        return nextId.get();
+    }
+}
@@ -0,0 +1,98 @@
+package com.dailycodebuffer.security.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entité Product : catalogue des produits
+ * 
+ * Les index couvrent les parcours paginés par clé (tri, puis id)
+ * et le filtre par catégorie.
+ * L'id vient d'une séquence avec optimiseur "pooled" : contrairement à
+ * IDENTITY, Hibernate peut regrouper les INSERT en lots JDBC (import en masse).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "products", uniqueConstraints = {
+    @UniqueConstraint(columnNames = "sku")
+}, indexes = {
+    @Index(name = "idx_products_category_id", columnList = "category, id"),
+    @Index(name = "idx_products_name_id", columnList = "name, id"),
+    @Index(name = "idx_products_price_id", columnList = "price, id")
+})
+@EntityListeners(AuditingEntityListener.class)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class Product {
+    
+    /**
+     * Identifiant unique du produit
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
+    @EqualsAndHashCode.Include
+    private Long id;
+    
+    /**
+     * Référence catalogue (clé métier des imports, optionnelle)
+     */
+    @Column(unique = true, length = 64)
+    private String sku;
+    
+    /**
+     * Nom du produit
+     */
+    @Column(nullable = false, length = 150)
+    private String name;
+    
+    /**
+     * Description du produit
+     */
+    @Column(length = 1000)
+    private String description;
+    
+    /**
+     * Catégorie du produit
+     */
+    @Column(nullable = false, length = 50)
+    private String category;
+    
+    /**
+     * Prix unitaire
+     */
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal price;
+    
+    /**
+     * Version (verrouillage optimiste, entre aussi dans l'ETag des pages)
+     */
+    @Version
+    private Long version;
+    
+    /**
+     * Date de création
+     */
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * Date de dernière modification
+     */
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -1,24 +1,33 @@
 package com.dailycodebuffer.security.entities;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Entité Role pour gérer les rôles des utilisateurs
  * 
  * Cette classe permet de définir des rôles avec des permissions.
  * La relation ManyToMany est gérée uniquement côté User.
+ * Les rôles et leurs permissions sont dans le cache de second niveau
+ * (ils ne changent presque jamais).
  */
 @Data
 @Builder
@@ -28,15 +37,25 @@ import java.util.Set;
 @Table(name = "roles", uniqueConstraints = {
     @UniqueConstraint(columnNames = "name")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, RoleEntityListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@NamedEntityGraph(name = Role.GRAPH_PERMISSIONS, attributeNodes = @NamedAttributeNode("permissions"))
 public class Role {
     
+    /**
+     * Plan de chargement : rôle avec ses permissions
+     */
+    public static final String GRAPH_PERMISSIONS = "Role.permissions";
+    
     /**
      * Identifiant unique du rôle
+     * Séquence "pooled" (migration des tables existantes : db/migration/identity-to-sequence.sql)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
+    @SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
     
@@ -62,11 +81,14 @@ public class Role {
     
     /**
      * Permissions associées au rôle
+     * Chargement paresseux, par lots ou via le plan GRAPH_PERMISSIONS
      */
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "role_permissions", joinColumns = @JoinColumn(name = "role_id"))
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @Column(name = "permission", length = 100)
     @Builder.Default
+    @ToString.Exclude
     private Set<String> permissions = new HashSet<>();
     
     /**
@@ -83,52 +105,131 @@ public class Role {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
     
+    /**
+     * Masque de bits des permissions, calculé à la demande (non persisté)
+     * Champ final initialisé : ni le builder ni le constructeur complet ne l'exposent
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final transient AtomicReference<CachedMask> permissionMask = new AtomicReference<>();
+    
     /**
      * Méthodes utilitaires
      */
     
+    /**
+     * Permissions du rôle, en lecture seule
+     * Les modifications passent par addPermission / removePermission / setPermissions.
+     */
+    public Set<String> getPermissions() {
+        return Collections.unmodifiableSet(this.permissions);
+    }
+    
+    /**
+     * Remplace les permissions du rôle
+     */
+    public void setPermissions(Set<String> permissions) {
+        this.permissions = permissions;
+        permissionsChanged();
+    }
+    
     /**
      * Ajoute une permission au rôle
      */
     public void addPermission(String permission) {
-        this.permissions.add(permission);
+        if (this.permissions.add(permission)) {
+            permissionsChanged();
+        }
     }
     
     /**
      * Supprime une permission du rôle
      */
     public void removePermission(String permission) {
-        this.permissions.remove(permission);
+        if (this.permissions.remove(permission)) {
+            permissionsChanged();
+        }
+    }
+    
+    /**
+     * Une modification de la seule collection ne déclenche pas de mise à jour de
+     * l'entité : la date de modification est touchée pour que le rôle soit
+     * réécrit et que ses listeners (caches, index des permissions) soient notifiés
+     */
+    private void permissionsChanged() {
+        this.permissionMask.set(null);
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Retourne le masque de bits des permissions du rôle
+     * 
+     * Les modifications passent par les méthodes ci-dessus, qui invalident le masque ;
+     * il n'est recalculé que si Hibernate a remplacé la collection (chargement, fusion).
+     */
+    public PermissionMask permissionMask() {
+        CachedMask cached = this.permissionMask.get();
+        Set<String> current = this.permissions;
+        if (cached == null || cached.source() != current) {
+            cached = new CachedMask(current, PermissionMask.of(current));
+            this.permissionMask.set(cached);
+        }
+        return cached.mask();
     }
     
     /**
      * Vérifie si le rôle a une permission spécifique
      */
     public boolean hasPermission(String permission) {
-        return permissions.contains(permission);
+        return permissionMask().contains(PermissionRegistry.find(permission));
     }
     
     /**
      * Vérifie si le rôle a au moins une des permissions données
+     * Les noms inconnus du registre sont ignorés (sans être enregistrés).
      */
     public boolean hasAnyPermission(String... permissions) {
+        PermissionMask granted = permissionMask();
         for (String permission : permissions) {
-            if (hasPermission(permission)) {
+            if (granted.contains(PermissionRegistry.find(permission))) {
                 return true;
             }
         }
         return false;
     }
     
+    /**
+     * Vérifie si le rôle a au moins une des permissions du masque (précalculé)
+     */
+    public boolean hasAnyPermission(PermissionMask permissions) {
+        return permissionMask().intersects(permissions);
+    }
+    
     /**
      * Vérifie si le rôle a toutes les permissions données
+     * Une permission jamais enregistrée n'est accordée par aucun rôle.
      */
     public boolean hasAllPermissions(String... permissions) {
+        PermissionMask granted = permissionMask();
         for (String permission : permissions) {
-            if (!hasPermission(permission)) {
+            if (!granted.contains(PermissionRegistry.find(permission))) {
                 return false;
             }
         }
         return true;
     }
+    
+    /**
+     * Vérifie si le rôle a toutes les permissions du masque (précalculé)
+     */
+    public boolean hasAllPermissions(PermissionMask permissions) {
+        return permissionMask().containsAll(permissions);
+    }
+    
+    /**
+     * Masque associé à la collection (par référence) à partir de laquelle il a été calculé
+     */
+    private record CachedMask(Set<String> source, PermissionMask mask) {
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.dailycodebuffer.security.entities;
+
+import com.dailycodebuffer.security.cache.RoleCacheInvalidator;
+import com.dailycodebuffer.security.services.AccountVersionRegistry;
+import com.dailycodebuffer.security.services.AuthorityTable;
+import com.dailycodebuffer.security.services.PermissionIndex;
+import com.dailycodebuffer.security.services.TransactionHooks;
+import com.dailycodebuffer.security.services.UserDetailsCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Listener JPA sur l'entité Role
+ *
+ * Un rôle est partagé par de nombreux utilisateurs : toute modification
+ * invalide l'ensemble des UserDetails en cache et les autorités précalculées,
+ * met à jour l'index des permissions, incrémente la version de sécurité des
+ * membres du rôle (leurs tokens portent les anciennes permissions), puis est
+ * diffusée aux autres instances pour leurs caches de rôles.
+ */
+@Component
+public class RoleEntityListener {
+
+    private final UserDetailsCache userDetailsCache;
+    private final AuthorityTable authorityTable;
+    private final RoleCacheInvalidator roleCacheInvalidator;
+    private final PermissionIndex permissionIndex;
+    private final AccountVersionRegistry accountVersionRegistry;
+
+    public RoleEntityListener(UserDetailsCache userDetailsCache,
+                              AuthorityTable authorityTable,
+                              RoleCacheInvalidator roleCacheInvalidator,
+                              PermissionIndex permissionIndex,
+                              AccountVersionRegistry accountVersionRegistry) {
+        this.userDetailsCache = userDetailsCache;
+        this.authorityTable = authorityTable;
+        this.roleCacheInvalidator = roleCacheInvalidator;
+        this.permissionIndex = permissionIndex;
+        this.accountVersionRegistry = accountVersionRegistry;
+    }
+
+    @PostPersist
+    public void afterCreate(Role role) {
+        indexAfterCommit(role);
+        // Un nouveau rôle peut changer les résultats de requêtes en cache sur les autres instances
+        roleCacheInvalidator.roleChanged(role.getId());
+    }
+
+    @PostUpdate
+    public void afterUpdate(Role role) {
+        userDetailsCache.invalidateAll();
+        authorityTable.clear();
+        indexAfterCommit(role);
+        revokeMemberTokensAfterCommit(role.getId());
+        roleCacheInvalidator.roleChanged(role.getId());
+    }
+
+    @PostRemove
+    public void afterRemove(Role role) {
+        userDetailsCache.invalidateAll();
+        authorityTable.clear();
+        Long roleId = role.getId();
+        TransactionHooks.afterCommit(() -> permissionIndex.remove(roleId));
+        revokeMemberTokensAfterCommit(roleId);
+        roleCacheInvalidator.roleChanged(roleId);
+    }
+
+    /**
+     * Enregistré avant la diffusion : les autres instances relisent des versions déjà incrémentées.
+     * Les UserDetails sont invalidés à nouveau pour que les prochains tokens portent la nouvelle version.
+     */
+    private void revokeMemberTokensAfterCommit(Long roleId) {
+        TransactionHooks.afterCommit(() -> {
+            accountVersionRegistry.bumpRoleMembers(roleId);
+            userDetailsCache.invalidateAll();
+        });
+    }
+
+    private void indexAfterCommit(Role role) {
+        Long roleId = role.getId();
+        Set<String> permissions = Set.copyOf(role.getPermissions());
+        TransactionHooks.afterCommit(() -> permissionIndex.put(roleId, permissions));
+    }
+}
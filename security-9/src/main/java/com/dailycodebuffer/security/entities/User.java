@@ -10,12 +10,15 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -42,15 +45,34 @@ import java.util.Set;
         @UniqueConstraint(columnNames = "username"),
         @UniqueConstraint(columnNames = "email")
 })
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, UserEntityListener.class})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@NamedEntityGraph(name = User.GRAPH_AUTH,
+        attributeNodes = @NamedAttributeNode(value = "roles", subgraph = "roles.permissions"),
+        subgraphs = @NamedSubgraph(name = "roles.permissions", attributeNodes = @NamedAttributeNode("permissions")))
+@NamedEntityGraph(name = User.GRAPH_ADMIN,
+        attributeNodes = @NamedAttributeNode("roles"))
 public class User {
 
+    /**
+     * Plan de chargement "authentification" : rôles et permissions
+     * (nécessaires pour construire les autorités et les claims JWT)
+     */
+    public static final String GRAPH_AUTH = "User.auth";
+
+    /**
+     * Plan de chargement "administration" : rôles sans permissions
+     */
+    public static final String GRAPH_ADMIN = "User.admin";
+
     /**
      * Identifiant unique de l'utilisateur
+     * Séquence "pooled" : les INSERT peuvent être regroupés en lots JDBC
+     * (migration des tables existantes : db/migration/identity-to-sequence.sql)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -111,19 +133,24 @@ public class User {
 
     /**
      * Date de la dernière connexion
+     * Écrite uniquement par LoginAttemptStore (écriture différée)
      */
+    @Column(updatable = false)
     private LocalDateTime lastLoginAt;
 
     /**
      * Nombre de tentatives de connexion échouées
+     * Écrit uniquement par LoginAttemptStore (écriture différée)
      */
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private int failedLoginAttempts = 0;
 
     /**
      * Date de verrouillage du compte (si applicable)
+     * Écrite uniquement par LoginAttemptStore (écriture différée)
      */
+    @Column(updatable = false)
     private LocalDateTime lockedAt;
 
     /**
@@ -136,16 +163,29 @@ public class User {
      */
     private LocalDateTime activationTokenExpiry;
 
+    /**
+     * Version de sécurité du compte
+     * Incrémentée à chaque changement de statut, d'activation ou de rôles :
+     * les tokens JWT émis avec une version antérieure sont rejetés
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int securityVersion = 0;
+
     /**
      * Rôles de l'utilisateur (relation ManyToMany)
+     * Chargement paresseux : chaque cas d'usage choisit son plan (GRAPH_AUTH, GRAPH_ADMIN),
+     * sinon les rôles sont chargés par lots (hibernate.default_batch_fetch_size)
      */
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id")
     )
     @Builder.Default
+    @ToString.Exclude
     private Set<Role> roles = new HashSet<>();
 
     /**
@@ -170,7 +210,9 @@ public class User {
      * Ajoute un rôle à l'utilisateur
      */
     public void addRole(Role role) {
-        this.roles.add(role);
+        if (this.roles.add(role)) {
+            bumpSecurityVersion();
+        }
         // NE PAS toucher à role.getUsers() ici pour éviter les problèmes de persistance
     }
 
@@ -178,16 +220,107 @@ public class User {
      * Supprime un rôle de l'utilisateur
      */
     public void removeRole(Role role) {
-        this.roles.remove(role);
+        if (this.roles.remove(role)) {
+            bumpSecurityVersion();
+        }
         // NE PAS toucher à role.getUsers() ici pour éviter les problèmes de persistance
     }
 
+    /**
+     * Remplace les rôles de l'utilisateur
+     */
+    public void setRoles(Set<Role> roles) {
+        if (!Objects.equals(this.roles, roles)) {
+            bumpSecurityVersion();
+        }
+        this.roles = roles;
+    }
+
+    /**
+     * Modifie le statut du compte
+     */
+    public void setStatus(AccountStatus status) {
+        if (this.status != status) {
+            bumpSecurityVersion();
+        }
+        this.status = status;
+    }
+
+    /**
+     * Active ou désactive le compte
+     */
+    public void setEnabled(boolean enabled) {
+        if (this.enabled != enabled) {
+            bumpSecurityVersion();
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Invalide les tokens émis avant un changement de sécurité du compte
+     */
+    public void bumpSecurityVersion() {
+        this.securityVersion++;
+    }
+
     /**
      * Vérifie si l'utilisateur a un rôle spécifique
      */
     public boolean hasRole(String roleName) {
-        return roles.stream()
-                .anyMatch(role -> role.getName().equals(roleName));
+        for (Role role : roles) {
+            if (role.getName().equals(roleName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vérifie si l'un des rôles actifs de l'utilisateur accorde la permission
+     */
+    public boolean hasPermission(String permission) {
+        int id = PermissionRegistry.find(permission);
+        if (id < 0) {
+            return false;
+        }
+        for (Role role : roles) {
+            if (role.isActive() && role.permissionMask().contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vérifie si les rôles actifs accordent au moins une des permissions du masque
+     */
+    public boolean hasAnyPermission(PermissionMask permissions) {
+        for (Role role : roles) {
+            if (role.isActive() && role.permissionMask().intersects(permissions)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vérifie si les rôles actifs accordent ensemble toutes les permissions du masque
+     * (union des masques de rôles calculée mot par mot, sans allocation)
+     */
+    public boolean hasAllPermissions(PermissionMask permissions) {
+        for (int i = 0; i < permissions.wordCount(); i++) {
+            long required = permissions.word(i);
+            long granted = 0L;
+            for (Role role : roles) {
+                if (role.isActive()) {
+                    granted |= role.permissionMask().word(i);
+                }
+            }
+            if ((granted & required) != required) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -200,11 +333,12 @@ public class User {
 
     /**
      * Incrémente le compteur de tentatives échouées
+     * (l'entité n'écrit pas ce compteur : le suivi persistant passe par LoginAttemptStore)
      */
     public void incrementFailedLoginAttempts() {
         this.failedLoginAttempts++;
         if (this.failedLoginAttempts >= 5) {
-            this.status = AccountStatus.LOCKED;
+            setStatus(AccountStatus.LOCKED);
             this.lockedAt = LocalDateTime.now();
         }
     }
@@ -216,7 +350,7 @@ public class User {
         this.failedLoginAttempts = 0;
         this.lockedAt = null;
         if (this.status == AccountStatus.LOCKED) {
-            this.status = AccountStatus.ACTIVE;
+            setStatus(AccountStatus.ACTIVE);
         }
     }
 
@@ -0,0 +1,54 @@
+package com.dailycodebuffer.security.entities;
+
+import com.dailycodebuffer.security.services.AccountVersionRegistry;
+import com.dailycodebuffer.security.services.KnownUsernameFilter;
+import com.dailycodebuffer.security.services.UserDetailsCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA sur l'entité User
+ *
+ * Propage les changements de compte vers les structures en mémoire
+ * utilisées par l'authentification sans état.
+ */
+@Component
+public class UserEntityListener {
+
+    private final AccountVersionRegistry accountVersionRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final KnownUsernameFilter knownUsernameFilter;
+
+    public UserEntityListener(AccountVersionRegistry accountVersionRegistry, UserDetailsCache userDetailsCache,
+                              KnownUsernameFilter knownUsernameFilter) {
+        this.accountVersionRegistry = accountVersionRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.knownUsernameFilter = knownUsernameFilter;
+    }
+
+    @PostPersist
+    public void afterPersist(User user) {
+        // Ajout immédiat (un rollback ne laisse qu'un faux positif), diffusion après commit
+        knownUsernameFilter.put(user.getUsername());
+        knownUsernameFilter.put(user.getEmail());
+        knownUsernameFilter.userCreated(user.getId());
+    }
+
+    @PostUpdate
+    public void afterUpdate(User user) {
+        accountVersionRegistry.record(user.getUsername(), user.getSecurityVersion());
+        // Statut, activation, tentatives échouées ou rôles ont pu changer
+        userDetailsCache.invalidate(user.getUsername());
+        // Le nom ou l'email a pu changer
+        knownUsernameFilter.put(user.getUsername());
+        knownUsernameFilter.put(user.getEmail());
+    }
+
+    @PostRemove
+    public void afterRemove(User user) {
+        accountVersionRegistry.revoke(user.getUsername());
+        userDetailsCache.invalidate(user.getUsername());
+    }
+}
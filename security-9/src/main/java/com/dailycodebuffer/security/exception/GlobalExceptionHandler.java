@@ -1,7 +1,12 @@
 package com.dailycodebuffer.security.exception;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -12,20 +17,70 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Gestionnaire global d'exceptions pour l'application
  * 
  * Ce gestionnaire intercepte toutes les exceptions non gérées et retourne
  * des réponses HTTP appropriées avec des messages d'erreur structurés.
+ * 
+ * Sous attaque, les échecs sont bien plus fréquents que les succès :
+ * - Les réponses à message fixe (401, 403, 500) sont sérialisées à l'avance
+ * - La journalisation est limitée par catégorie (les lignes omises sont comptées)
+ * 
+ * Chaque catégorie est comptée dans errors.handled (tag category), qu'elle soit journalisée ou non.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private static final long REJECTED_TASK_RETRY_AFTER_SECONDS = 1;
+    
+    private final PreSerializedError badCredentialsResponse;
+    private final PreSerializedError accessDeniedResponse;
+    private final PreSerializedError internalErrorResponse;
+    
+    private final ErrorCategory validation;
+    private final ErrorCategory authentication;
+    private final ErrorCategory userNotFound;
+    private final ErrorCategory accessDenied;
+    private final ErrorCategory jwt;
+    private final ErrorCategory notFound;
+    private final ErrorCategory conflict;
+    private final ErrorCategory payloadTooLarge;
+    private final ErrorCategory overload;
+    private final ErrorCategory rateLimit;
+    private final Counter internalErrorCounter;
+    
+    public GlobalExceptionHandler(ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.error-logging.max-per-interval:20}") int maxPerInterval,
+                                  @Value("${security.error-logging.interval-seconds:10}") long intervalSeconds) {
+        Clock clock = Clock.systemDefaultZone();
+        this.badCredentialsResponse = new PreSerializedError(objectMapper, clock, HttpStatus.UNAUTHORIZED,
+                "Erreur d'authentification", "Nom d'utilisateur ou mot de passe incorrect");
+        this.accessDeniedResponse = new PreSerializedError(objectMapper, clock, HttpStatus.FORBIDDEN,
+                "Accès refusé", "Vous n'avez pas les permissions nécessaires pour accéder à cette ressource");
+        this.internalErrorResponse = new PreSerializedError(objectMapper, clock, HttpStatus.INTERNAL_SERVER_ERROR,
+                "Erreur interne du serveur", "Une erreur inattendue s'est produite");
+        
+        this.validation = new ErrorCategory("validation", maxPerInterval, intervalSeconds, meterRegistry);
+        this.authentication = new ErrorCategory("authentication", maxPerInterval, intervalSeconds, meterRegistry);
+        this.userNotFound = new ErrorCategory("user_not_found", maxPerInterval, intervalSeconds, meterRegistry);
+        this.accessDenied = new ErrorCategory("access_denied", maxPerInterval, intervalSeconds, meterRegistry);
+        this.jwt = new ErrorCategory("jwt", maxPerInterval, intervalSeconds, meterRegistry);
+        this.notFound = new ErrorCategory("not_found", maxPerInterval, intervalSeconds, meterRegistry);
+        this.conflict = new ErrorCategory("conflict", maxPerInterval, intervalSeconds, meterRegistry);
+        this.payloadTooLarge = new ErrorCategory("payload_too_large", maxPerInterval, intervalSeconds, meterRegistry);
+        this.overload = new ErrorCategory("overload", maxPerInterval, intervalSeconds, meterRegistry);
+        this.rateLimit = new ErrorCategory("rate_limit", maxPerInterval, intervalSeconds, meterRegistry);
+        this.internalErrorCounter = ErrorCategory.counter("internal", meterRegistry);
+    }
     
     /**
      * Gestion des erreurs de validation (Bean Validation)
@@ -35,7 +90,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        Map<String, String> errors = new HashMap<>();
+        Map<String, Object> errors = new LinkedHashMap<>();
         
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
@@ -48,10 +103,10 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST.value())
                 .error("Erreur de validation")
                 .message("Les données fournies sont invalides")
-                .details(new HashMap<>(errors))
+                .details(errors)
                 .build();
         
-        logger.warn("Erreur de validation: {}", errors);
+        warn(validation, "Erreur de validation: {}", errors);
         return ResponseEntity.badRequest().body(errorResponse);
     }
     
@@ -59,19 +114,12 @@ public class GlobalExceptionHandler {
      * Gestion des erreurs d'authentification
      * 
      * @param ex Exception d'authentification
-     * @return Réponse d'erreur d'authentification
+     * @return Réponse d'erreur d'authentification (corps pré-sérialisé)
      */
     @ExceptionHandler(BadCredentialsException.class)
-    public ResponseEntity<ErrorResponse> handleBadCredentialsException(BadCredentialsException ex) {
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.UNAUTHORIZED.value())
-                .error("Erreur d'authentification")
-                .message("Nom d'utilisateur ou mot de passe incorrect")
-                .build();
-        
-        logger.warn("Tentative d'authentification échouée: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+    public ResponseEntity<byte[]> handleBadCredentialsException(BadCredentialsException ex) {
+        warn(authentication, "Tentative d'authentification échouée: {}", ex.getMessage());
+        return badCredentialsResponse.response();
     }
     
     /**
@@ -89,7 +137,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
         
-        logger.warn("Utilisateur non trouvé: {}", ex.getMessage());
+        warn(userNotFound, "Utilisateur non trouvé: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
     
@@ -97,19 +145,12 @@ public class GlobalExceptionHandler {
      * Gestion des erreurs d'accès refusé
      * 
      * @param ex Exception d'accès refusé
-     * @return Réponse d'erreur d'accès refusé
+     * @return Réponse d'erreur d'accès refusé (corps pré-sérialisé)
      */
     @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException ex) {
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.FORBIDDEN.value())
-                .error("Accès refusé")
-                .message("Vous n'avez pas les permissions nécessaires pour accéder à cette ressource")
-                .build();
-        
-        logger.warn("Accès refusé: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+    public ResponseEntity<byte[]> handleAccessDeniedException(AccessDeniedException ex) {
+        warn(accessDenied, "Accès refusé: {}", ex.getMessage());
+        return accessDeniedResponse.response();
     }
     
     /**
@@ -127,7 +168,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
         
-        logger.warn("Erreur JWT: {}", ex.getMessage());
+        warn(jwt, "Erreur JWT: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
     }
     
@@ -146,7 +187,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
         
-        logger.warn("Ressource non trouvée: {}", ex.getMessage());
+        warn(notFound, "Ressource non trouvée: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
     
@@ -165,27 +206,141 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .build();
         
-        logger.warn("Conflit de ressource: {}", ex.getMessage());
+        warn(conflict, "Conflit de ressource: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
     
     /**
-     * Gestion des erreurs génériques
+     * Gestion d'un corps de requête trop volumineux (ex : import de catalogue)
      * 
-     * @param ex Exception générique
-     * @return Réponse d'erreur générique
+     * @param ex Exception de taille
+     * @return Réponse 413
      */
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handlePayloadTooLargeException(PayloadTooLargeException ex) {
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
-                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .error("Erreur interne du serveur")
-                .message("Une erreur inattendue s'est produite")
+                .status(HttpStatus.PAYLOAD_TOO_LARGE.value())
+                .error("Requête trop volumineuse")
+                .message(ex.getMessage())
                 .build();
         
+        warn(payloadTooLarge, "Requête trop volumineuse: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
+    }
+    
+    /**
+     * Gestion de la saturation d'une ressource interne (ex : pool de hachage)
+     * 
+     * @param ex Exception de surcharge
+     * @return Réponse 503 avec l'en-tête Retry-After
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        return overloaded(ex.getMessage(), ex.getRetryAfterSeconds());
+    }
+    
+    /**
+     * Gestion du refus d'une tâche par un exécuteur saturé (ex : suite d'une connexion)
+     * 
+     * @param ex Exception de refus
+     * @return Réponse 503 avec l'en-tête Retry-After
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException ex) {
+        return overloaded("Service surchargé, veuillez réessayer", REJECTED_TASK_RETRY_AFTER_SECONDS);
+    }
+    
+    private ResponseEntity<ErrorResponse> overloaded(String message, long retryAfterSeconds) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service surchargé")
+                .message(message)
+                .build();
+        
+        warn(overload, "Service surchargé: {}", message);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorResponse);
+    }
+    
+    /**
+     * Gestion du dépassement de limite de débit (ex : tentatives de connexion)
+     * 
+     * @param ex Exception de limite
+     * @return Réponse 429 avec l'en-tête Retry-After
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(RateLimitExceededException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Trop de requêtes")
+                .message(ex.getMessage())
+                .build();
+        
+        rateLimit.counter.increment();
+        if (logger.isDebugEnabled() && rateLimit.log.tryAcquire() != SampledLog.SUPPRESSED) {
+            logger.debug("Limite de débit atteinte: {}", ex.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+    
+    /**
+     * Gestion des erreurs génériques
+     * 
+     * @param ex Exception générique
+     * @return Réponse d'erreur générique (corps pré-sérialisé)
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<byte[]> handleGenericException(Exception ex) {
+        internalErrorCounter.increment();
+        // Jamais échantillonnée : une erreur inattendue doit toujours laisser sa trace
         logger.error("Erreur inattendue: ", ex);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        return internalErrorResponse.response();
+    }
+    
+    /**
+     * Compte l'erreur et la journalise en warn dans la limite de la catégorie
+     * La première ligne après une période limitée indique le nombre de lignes omises
+     */
+    private static void warn(ErrorCategory category, String format, Object argument) {
+        category.counter.increment();
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        long suppressed = category.log.tryAcquire();
+        if (suppressed == SampledLog.SUPPRESSED) {
+            return;
+        }
+        if (suppressed > 0) {
+            logger.warn(format + " (+{} similaires omis)", argument, suppressed);
+        } else {
+            logger.warn(format, argument);
+        }
+    }
+    
+    /**
+     * Catégorie d'erreur : compteur errors.handled et limiteur de journalisation
+     */
+    private static final class ErrorCategory {
+        private final SampledLog log;
+        private final Counter counter;
+        
+        ErrorCategory(String name, int maxPerInterval, long intervalSeconds, MeterRegistry meterRegistry) {
+            this.log = new SampledLog(maxPerInterval, intervalSeconds, System::nanoTime);
+            this.counter = counter(name, meterRegistry);
+        }
+        
+        static Counter counter(String name, MeterRegistry meterRegistry) {
+            return Counter.builder("errors.handled")
+                    .description("Erreurs traitées par le gestionnaire global")
+                    .tag("category", name)
+                    .register(meterRegistry);
+        }
     }
     
     /**
@@ -12,4 +12,15 @@ public class JwtException extends RuntimeException {
     public JwtException(String message, Throwable cause) {
         super(message, cause);
     }
+    
+    protected JwtException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, false, writableStackTrace);
+    }
+    
+    /**
+     * Variante sans trace de pile, pour les rejets attendus (token expiré, signature invalide)
+     */
+    public static JwtException withoutStackTrace(String message, Throwable cause) {
+        return new JwtException(message, cause, false);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.dailycodebuffer.security.exception;
+
+/**
+ * Exception levée lorsqu'un corps de requête dépasse la taille acceptée (ex : fichier d'import)
+ * 
+ * Traduite en réponse 413.
+ */
+public class PayloadTooLargeException extends RuntimeException {
+    
+    private final long maxBytes;
+    
+    public PayloadTooLargeException(long maxBytes) {
+        super("Corps de requête limité à " + maxBytes + " octets");
+        this.maxBytes = maxBytes;
+    }
+    
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,71 @@
+package com.dailycodebuffer.security.exception;
+
+import com.dailycodebuffer.security.exception.GlobalExceptionHandler.ErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Corps JSON d'une erreur à message fixe, sérialisé à l'avance
+ * 
+ * Seul l'horodatage varie : il est tronqué à la seconde et le corps n'est
+ * resérialisé qu'au changement de seconde. Toutes les réponses d'une même
+ * seconde partagent le même tableau d'octets (jamais modifié).
+ */
+final class PreSerializedError {
+    
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final HttpStatus status;
+    private final String error;
+    private final String message;
+    private volatile Body body;
+    
+    private record Body(long epochSecond, byte[] json) {
+    }
+    
+    PreSerializedError(ObjectMapper objectMapper, Clock clock, HttpStatus status, String error, String message) {
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.status = status;
+        this.error = error;
+        this.message = message;
+    }
+    
+    ResponseEntity<byte[]> response() {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json());
+    }
+    
+    byte[] json() {
+        long epochSecond = clock.millis() / 1000;
+        Body current = body;
+        if (current == null || current.epochSecond() != epochSecond) {
+            // Deux threads peuvent resérialiser en même temps : le résultat est identique
+            current = new Body(epochSecond, serialize(epochSecond));
+            body = current;
+        }
+        return current.json();
+    }
+    
+    private byte[] serialize(long epochSecond) {
+        ErrorResponse response = ErrorResponse.builder()
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), clock.getZone()))
+                .status(status.value())
+                .error(error)
+                .message(message)
+                .build();
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation de la réponse d'erreur impossible", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.dailycodebuffer.security.exception;
+
+/**
+ * Exception levée lorsqu'un client dépasse la limite de requêtes (ex : tentatives de connexion)
+ * 
+ * Sans trace de pile : levée à chaque requête refusée, la trace n'apporte rien.
+ * 
+ * Traduite en réponse 429 avec un en-tête Retry-After.
+ */
+public class RateLimitExceededException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -12,4 +12,16 @@ public class ResourceConflictException extends RuntimeException {
     public ResourceConflictException(String resourceName, String fieldName, Object fieldValue) {
         super(String.format("%s avec %s '%s' existe déjà", resourceName, fieldName, fieldValue));
     }
+    
+    protected ResourceConflictException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+    
+    /**
+     * Variante sans trace de pile, pour les conflits attendus sur un chemin fréquent
+     */
+    public static ResourceConflictException withoutStackTrace(String resourceName, String fieldName, Object fieldValue) {
+        return new ResourceConflictException(
+                String.format("%s avec %s '%s' existe déjà", resourceName, fieldName, fieldValue), false);
+    }
 } 
\ No newline at end of file
@@ -12,4 +12,16 @@ public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
         super(String.format("%s non trouvé avec %s : '%s'", resourceName, fieldName, fieldValue));
     }
+    
+    protected ResourceNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+    
+    /**
+     * Variante sans trace de pile, pour les absences attendues sur un chemin fréquent
+     */
+    public static ResourceNotFoundException withoutStackTrace(String resourceName, String fieldName, Object fieldValue) {
+        return new ResourceNotFoundException(
+                String.format("%s non trouvé avec %s : '%s'", resourceName, fieldName, fieldValue), false);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.dailycodebuffer.security.exception;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limiteur de journalisation pour une catégorie d'erreurs
+ * 
+ * Au plus maxPerInterval lignes par intervalle ; les suivantes sont comptées
+ * et le total est rapporté par la prochaine ligne émise. Sans verrou : une
+ * réinitialisation concurrente de la fenêtre peut laisser passer quelques
+ * lignes de plus, ce qui est sans conséquence.
+ */
+final class SampledLog {
+    
+    static final long SUPPRESSED = -1;
+    
+    private final int maxPerInterval;
+    private final long intervalNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicLong windowStart;
+    private final AtomicInteger emitted = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+    
+    SampledLog(int maxPerInterval, long intervalSeconds, LongSupplier nanoTime) {
+        this.maxPerInterval = maxPerInterval;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(intervalSeconds);
+        this.nanoTime = nanoTime;
+        this.windowStart = new AtomicLong(nanoTime.getAsLong());
+    }
+    
+    /**
+     * @return {@link #SUPPRESSED} si la ligne doit être omise, sinon le nombre
+     *         de lignes omises depuis la dernière ligne émise
+     */
+    long tryAcquire() {
+        long now = nanoTime.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            emitted.set(0);
+        }
+        if (emitted.incrementAndGet() <= maxPerInterval) {
+            return suppressed.getAndSet(0);
+        }
+        suppressed.incrementAndGet();
+        return SUPPRESSED;
+    }
+}
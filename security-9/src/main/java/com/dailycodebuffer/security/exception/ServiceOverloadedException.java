@@ -0,0 +1,22 @@
+package com.dailycodebuffer.security.exception;
+
+/**
+ * Exception levée lorsqu'une ressource interne est saturée (ex : file de hachage des mots de passe)
+ * 
+ * Sans trace de pile : signal de contrôle de flux, levé en rafale sous forte charge.
+ * 
+ * Traduite en réponse 503 avec un en-tête Retry-After.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,22 @@
+package com.dailycodebuffer.security.exception;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Utilisateur inexistant, levée sur le chemin de login
+ * 
+ * Sans trace de pile : sous une attaque par noms aléatoires elle est levée à
+ * chaque requête, et la trace n'apporte rien (le provider la convertit en
+ * BadCredentialsException).
+ */
+public class UnknownUsernameException extends UsernameNotFoundException {
+    
+    public UnknownUsernameException(String username) {
+        super("Utilisateur non trouvé : " + username);
+    }
+    
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,27 @@
+package com.dailycodebuffer.security.repositories;
+
+import com.dailycodebuffer.security.entities.Product;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository pour l'entité Product
+ * 
+ * Les recherches paginées passent par des Specification (filtres + condition
+ * de clé) et l'API fluente findBy(spec, ...) pour le tri et la limite.
+ */
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+    
+    /**
+     * Produits existants d'un lot d'import (une requête par lot)
+     * 
+     * @param skus Références du lot
+     * @return Produits déjà présents
+     */
+    List<Product> findBySkuIn(Collection<String> skus);
+}
@@ -1,8 +1,12 @@
 package com.dailycodebuffer.security.repositories;
 
 import com.dailycodebuffer.security.entities.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +19,7 @@ import java.util.Set;
  * 
  * Cette interface étend JpaRepository qui fournit automatiquement les opérations
  * CRUD de base pour l'entité Role.
+ * Les recherches fréquentes utilisent le cache de requêtes Hibernate.
  */
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
@@ -25,6 +30,8 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      * @param name Le nom du rôle à rechercher
      * @return Le rôle trouvé ou null s'il n'existe pas
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(Role.GRAPH_PERMISSIONS)
     Optional<Role> findByName(String name);
     
     /**
@@ -40,6 +47,7 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      * 
      * @return Liste des rôles actifs
      */
+    @EntityGraph(Role.GRAPH_PERMISSIONS)
     List<Role> findByActiveTrue();
     
     /**
@@ -48,14 +56,39 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      * @param names Les noms des rôles à rechercher
      * @return Liste des rôles trouvés
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(Role.GRAPH_PERMISSIONS)
     List<Role> findByNameIn(Set<String> names);
     
+    /**
+     * Charge tous les rôles avec leurs permissions (construction de l'index des permissions)
+     * 
+     * @return Liste de tous les rôles
+     */
+    @EntityGraph(Role.GRAPH_PERMISSIONS)
+    @Query("SELECT r FROM Role r")
+    List<Role> findAllWithPermissions();
+    
+    /**
+     * Charge un rôle avec ses permissions
+     * 
+     * @param id L'id du rôle
+     * @return Le rôle trouvé
+     */
+    @EntityGraph(Role.GRAPH_PERMISSIONS)
+    Optional<Role> findWithPermissionsById(Long id);
+    
     /**
      * Recherche des rôles par permission
      * 
+     * Requête SQL à chaque appel : préférer PermissionIndex.rolesWithPermission
+     * sur les chemins fréquents.
+     * 
      * @param permission La permission à rechercher
      * @return Liste des rôles ayant cette permission
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(Role.GRAPH_PERMISSIONS)
     @Query("SELECT r FROM Role r JOIN r.permissions p WHERE p = :permission")
     List<Role> findByPermission(@Param("permission") String permission);
     
@@ -0,0 +1,12 @@
+package com.dailycodebuffer.security.repositories;
+
+/**
+ * Ligne d'export : colonnes d'un utilisateur et l'un de ses rôles
+ * 
+ * Un utilisateur avec plusieurs rôles produit plusieurs lignes consécutives
+ * (tri par id) ; un utilisateur sans rôle produit une ligne avec un rôle null.
+ */
+public interface UserExportRow extends UserSummary {
+
+    String getRoleName();
+}
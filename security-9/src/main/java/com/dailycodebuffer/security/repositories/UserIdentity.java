@@ -0,0 +1,9 @@
+package com.dailycodebuffer.security.repositories;
+
+/**
+ * Projection des identifiants uniques d'un utilisateur (détection de conflits)
+ */
+public interface UserIdentity {
+    String getUsername();
+    String getEmail();
+}
@@ -1,14 +1,94 @@
 package com.dailycodebuffer.security.repositories;
 
 import com.dailycodebuffer.security.entities.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository Spring Data JPA pour l'entité User.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    /**
+     * Charge un utilisateur avec rôles et permissions (vue "authentification")
+     */
+    @EntityGraph(User.GRAPH_AUTH)
     Optional<User> findByUsername(String username);
-} 
\ No newline at end of file
+
+    /**
+     * Charge un utilisateur avec ses rôles (vue "administration")
+     */
+    @EntityGraph(User.GRAPH_ADMIN)
+    Optional<User> findWithRolesById(Long id);
+
+    /**
+     * Résout uniquement l'id d'un utilisateur (vue "id seul"), sans charger l'entité
+     */
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    /**
+     * Vérifications d'unicité sans flush préalable : les INSERT en attente
+     * restent groupés en lots (les contraintes uniques restent le garde-fou)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    boolean existsByUsername(String username);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    boolean existsByEmail(String email);
+
+    /**
+     * Comptes existants dont le nom d'utilisateur ou l'email est dans les ensembles donnés
+     * (une requête par lot de provisionnement au lieu de deux par compte)
+     */
+    @Query("SELECT u.username AS username, u.email AS email FROM User u "
+            + "WHERE u.username IN :usernames OR u.email IN :emails")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    List<UserIdentity> findIdentities(@Param("usernames") Collection<String> usernames,
+                                      @Param("emails") Collection<String> emails);
+
+    /**
+     * Page d'utilisateurs par pagination par clé (seek) sur l'id
+     *
+     * @param afterId Dernier id de la page précédente (0 pour la première page)
+     * @param limit Taille de la page
+     * @return Projections des utilisateurs suivants, triés par id
+     */
+    List<UserSummary> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Noms des rôles d'un lot d'utilisateurs, en une seule requête
+     *
+     * @param userIds Ids des utilisateurs
+     * @return Paires (id utilisateur, nom de rôle)
+     */
+    @Query("SELECT u.id AS userId, r.name AS roleName FROM User u JOIN u.roles r WHERE u.id IN :userIds")
+    List<UserRoleName> findRoleNamesByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Flux de tous les utilisateurs avec leurs rôles, pour l'export
+     *
+     * Projection scalaire (aucune entité gérée par le contexte de persistance),
+     * lue par curseur JDBC de 500 lignes. Doit être consommé dans une transaction
+     * et fermé après usage.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.firstName AS firstName, "
+            + "u.lastName AS lastName, u.status AS status, u.enabled AS enabled, u.createdAt AS createdAt, "
+            + "r.name AS roleName FROM User u LEFT JOIN u.roles r ORDER BY u.id")
+    Stream<UserExportRow> streamAllForExport();
+}
@@ -0,0 +1,11 @@
+package com.dailycodebuffer.security.repositories;
+
+/**
+ * Projection (id utilisateur, nom de rôle) pour charger les rôles d'une page en une requête
+ */
+public interface UserRoleName {
+
+    Long getUserId();
+
+    String getRoleName();
+}
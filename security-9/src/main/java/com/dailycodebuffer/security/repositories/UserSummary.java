@@ -0,0 +1,30 @@
+package com.dailycodebuffer.security.repositories;
+
+import com.dailycodebuffer.security.entities.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection en lecture seule d'un utilisateur pour les listes
+ * 
+ * Seules ces colonnes sont sélectionnées : ni mot de passe, ni token
+ * d'activation, ni graphe de rôles.
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    User.AccountStatus getStatus();
+
+    boolean isEnabled();
+
+    LocalDateTime getCreatedAt();
+}
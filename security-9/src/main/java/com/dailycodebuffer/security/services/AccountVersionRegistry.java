@@ -0,0 +1,98 @@
+package com.dailycodebuffer.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versions de sécurité courantes des comptes, lues en base avec un cache court
+ *
+ * Le filtre JWT authentifie les requêtes à partir des claims signés. Ce
+ * registre permet malgré tout de rejeter les tokens émis avant un changement
+ * de statut, d'activation ou de rôles : la version portée par le token est
+ * comparée à users.security_version. La source de vérité étant la base, le
+ * contrôle survit aux redémarrages et vaut pour toutes les instances.
+ *
+ * - Une requête par compte actif et par ttl-seconds, au plus
+ * - Les changements faits sur cette instance sont pris en compte immédiatement,
+ *   ceux des autres instances à l'expiration de l'entrée
+ * - La modification d'un rôle incrémente la version de tous ses membres
+ */
+@Component
+public class AccountVersionRegistry {
+
+    /**
+     * Version attribuée à un compte supprimé : aucun token ne l'atteint
+     */
+    public static final int REVOKED = Integer.MAX_VALUE;
+
+    private static final String VERSION_SQL = "SELECT security_version FROM users WHERE username = ?";
+    private static final String BUMP_ROLE_MEMBERS_SQL = """
+            UPDATE users SET security_version = security_version + 1
+            WHERE id IN (SELECT user_id FROM user_roles WHERE role_id = ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, CompletableFuture<Integer>> versions;
+
+    public AccountVersionRegistry(JdbcTemplate jdbcTemplate,
+                                  @Value("${security.token-version.ttl-seconds:30}") long ttlSeconds,
+                                  @Value("${security.token-version.maximum-size:250000}") long maximumSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Enregistre la version courante d'un compte modifié sur cette instance
+     * Appliquée immédiatement, puis relue en base en fin de transaction (un rollback ne laisse pas de version fantôme)
+     */
+    public void record(String username, int securityVersion) {
+        versions.put(username, CompletableFuture.completedFuture(securityVersion));
+        TransactionHooks.afterCompletion(() -> versions.invalidate(username));
+    }
+
+    /**
+     * Révoque tous les tokens d'un compte
+     */
+    public void revoke(String username) {
+        versions.put(username, CompletableFuture.completedFuture(REVOKED));
+        TransactionHooks.afterCompletion(() -> versions.invalidate(username));
+    }
+
+    /**
+     * Vérifie qu'un token portant cette version est toujours accepté
+     */
+    public boolean isCurrent(String username, int tokenVersion) {
+        return tokenVersion >= CacheLoads.get(versions, username, this::load);
+    }
+
+    /**
+     * Invalide les tokens de tous les membres d'un rôle (permissions, activation ou suppression du rôle)
+     * À appeler hors transaction JPA (après commit)
+     */
+    public void bumpRoleMembers(Long roleId) {
+        jdbcTemplate.update(BUMP_ROLE_MEMBERS_SQL, roleId);
+        invalidateAll();
+    }
+
+    /**
+     * Oublie les versions connues : relues en base à la prochaine vérification
+     */
+    public void invalidateAll() {
+        versions.invalidateAll();
+    }
+
+    private Integer load(String username) {
+        List<Integer> found = jdbcTemplate.queryForList(VERSION_SQL, Integer.class, username);
+        // Compte supprimé : plus aucun token accepté
+        return found.isEmpty() ? REVOKED : found.get(0);
+    }
+}
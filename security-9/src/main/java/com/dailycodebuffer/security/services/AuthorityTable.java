@@ -0,0 +1,149 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.entities.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table des autorités précalculées par ensemble de rôles
+ *
+ * Pour chaque combinaison de rôles (identifiée par l'id et la version de chaque
+ * rôle, c'est-à-dire sa date de dernière modification), la liste des
+ * GrantedAuthority est calculée une seule fois puis partagée par tous les
+ * utilisateurs ayant ces rôles. Les instances d'autorités sont internées :
+ * une seule instance de "PRODUCT_READ" existe dans l'application.
+ *
+ * Une modification de rôle change sa version, donc sa clé : les anciennes
+ * entrées sont simplement purgées par {@link #clear()}.
+ */
+@Component
+public class AuthorityTable {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Map<String, GrantedAuthority> interned = new ConcurrentHashMap<>();
+    private final Map<RoleSetKey, List<GrantedAuthority>> byRoleSet = new ConcurrentHashMap<>();
+    private final Map<List<String>, List<GrantedAuthority>> byNames = new ConcurrentHashMap<>();
+
+    /**
+     * Autorités d'un ensemble de rôles (rôles actifs uniquement) : ROLE_<nom> + permissions
+     *
+     * @return Liste immuable partagée
+     */
+    public List<GrantedAuthority> authoritiesFor(Collection<Role> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        for (Role role : roles) {
+            if (role.getId() == null) {
+                // Rôle non persisté : pas de clé stable, calcul sans cache
+                return build(roles);
+            }
+        }
+        return byRoleSet.computeIfAbsent(RoleSetKey.of(roles), key -> build(roles));
+    }
+
+    /**
+     * Autorités à partir de noms déjà calculés (ex : claims d'un token JWT)
+     *
+     * @param roleNames Noms de rôles, sans le préfixe ROLE_
+     * @param permissions Permissions
+     * @return Liste immuable partagée
+     */
+    public List<GrantedAuthority> authoritiesFor(Collection<String> roleNames, Collection<String> permissions) {
+        List<String> names = new ArrayList<>(roleNames.size() + permissions.size());
+        for (String roleName : roleNames) {
+            names.add(ROLE_PREFIX + roleName);
+        }
+        names.addAll(permissions);
+        if (names.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<GrantedAuthority> cached = byNames.get(names);
+        if (cached != null) {
+            return cached;
+        }
+        return byNames.computeIfAbsent(List.copyOf(names), this::internAll);
+    }
+
+    /**
+     * Retourne l'instance partagée d'une autorité
+     */
+    public GrantedAuthority intern(String authority) {
+        return interned.computeIfAbsent(authority, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * Purge les ensembles précalculés (les autorités internées sont conservées)
+     */
+    public void clear() {
+        byRoleSet.clear();
+        byNames.clear();
+    }
+
+    private List<GrantedAuthority> build(Collection<Role> roles) {
+        Set<String> names = new LinkedHashSet<>();
+        for (Role role : roles) {
+            if (role.isActive()) {
+                names.add(ROLE_PREFIX + role.getName());
+            }
+        }
+        for (Role role : roles) {
+            if (role.isActive()) {
+                names.addAll(role.getPermissions());
+            }
+        }
+        return internAll(names);
+    }
+
+    private List<GrantedAuthority> internAll(Collection<String> names) {
+        GrantedAuthority[] authorities = new GrantedAuthority[names.size()];
+        int i = 0;
+        for (String name : names) {
+            authorities[i++] = intern(name);
+        }
+        return Collections.unmodifiableList(Arrays.asList(authorities));
+    }
+
+    /**
+     * Clé d'un ensemble de rôles : paires (id, version) triées par id
+     */
+    private record RoleSetKey(long[] ids, LocalDateTime[] versions) {
+
+        static RoleSetKey of(Collection<Role> roles) {
+            Role[] sorted = roles.toArray(new Role[0]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(a.getId(), b.getId()));
+            long[] ids = new long[sorted.length];
+            LocalDateTime[] versions = new LocalDateTime[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ids[i] = sorted[i].getId();
+                versions[i] = sorted[i].getUpdatedAt();
+            }
+            return new RoleSetKey(ids, versions);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RoleSetKey other
+                    && Arrays.equals(ids, other.ids)
+                    && Arrays.equals(versions, other.versions);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(ids) + Arrays.hashCode(versions);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.dailycodebuffer.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Chargement d'une entrée de cache hors des verrous internes de la map
+ *
+ * Cache.get(key, loader) exécute le loader sous le verrou (synchronized) d'un
+ * compartiment de la map : avec des threads virtuels, un loader qui attend la
+ * base épingle le thread porteur. Ici, une future est réservée dans le cache
+ * et complétée par le thread appelant hors verrou ; les appels concurrents
+ * sur la même clé attendent cette future (un seul chargement). Une invalidation
+ * pendant le chargement retire la future : la valeur chargée n'est pas conservée.
+ */
+final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    static <K, V> V get(Cache<K, CompletableFuture<V>> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return join(cached);
+        }
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> prior = cache.asMap().putIfAbsent(key, loading);
+        if (prior != null) {
+            return join(prior);
+        }
+        try {
+            V value = loader.apply(key);
+            if (value == null) {
+                cache.asMap().remove(key, loading);
+            }
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            cache.asMap().remove(key, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
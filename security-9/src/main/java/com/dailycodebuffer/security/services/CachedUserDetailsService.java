@@ -0,0 +1,40 @@
+package com.dailycodebuffer.security.services;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Décorateur de {@link CustumUserDetailsService} avec cache en mémoire
+ *
+ * Évite un findByUsername (et le chargement du graphe rôles → permissions)
+ * à chaque login. Les entrées sont invalidées par les listeners JPA lorsque
+ * le statut, l'activation, les tentatives de connexion ou les rôles changent.
+ */
+@Service
+@Primary
+public class CachedUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private final CustumUserDetailsService delegate;
+    private final UserDetailsCache userDetailsCache;
+
+    public CachedUserDetailsService(CustumUserDetailsService delegate, UserDetailsCache userDetailsCache) {
+        this.delegate = delegate;
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // Les utilisateurs inexistants ne sont pas mis en cache : l'exception traverse le loader
+        return userDetailsCache.get(username, delegate::loadUserByUsername);
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        // L'entrée en cache est invalidée par le listener JPA lors de la mise à jour
+        return delegate.updatePassword(user, newPassword);
+    }
+}
@@ -2,25 +2,88 @@ package com.dailycodebuffer.security.services;
 
 import com.dailycodebuffer.security.CustumUserDetails;
 import com.dailycodebuffer.security.entities.User;
+import com.dailycodebuffer.security.exception.UnknownUsernameException;
 import com.dailycodebuffer.security.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service pour charger les utilisateurs depuis la base de données.
+ *
+ * Métrique auth.userdetails.load, par résultat : found, not_found (absent en base)
+ * ou filtered (écarté par le filtre de Bloom, sans requête).
  */
 @Service
-public class CustumUserDetailsService implements UserDetailsService {
+public class CustumUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private AuthorityTable authorityTable;
+    @Autowired
+    private KnownUsernameFilter knownUsernameFilter;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer foundTimer;
+    private Timer notFoundTimer;
+    private Timer filteredTimer;
+
+    @PostConstruct
+    void registerTimers() {
+        foundTimer = loadTimer("found");
+        notFoundTimer = loadTimer("not_found");
+        filteredTimer = loadTimer("filtered");
+    }
+
+    private Timer loadTimer(String outcome) {
+        return Timer.builder("auth.userdetails.load")
+                .description("Durée du chargement d'un utilisateur pour l'authentification")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
+    /**
+     * Un nom absent du filtre de Bloom est refusé sans requête en base.
+     * Le DaoAuthenticationProvider compare alors le mot de passe à un hachage
+     * factice de même coût : la durée ne révèle pas l'existence du compte.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé : " + username));
-        return new CustumUserDetails(user);
+        long start = System.nanoTime();
+        if (!knownUsernameFilter.mightContain(username)) {
+            filteredTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new UnknownUsernameException(username);
+        }
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            notFoundTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new UnknownUsernameException(username);
+        }
+        CustumUserDetails userDetails = new CustumUserDetails(user, authorityTable.authoritiesFor(user.getRoles()));
+        foundTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return userDetails;
+    }
+
+    /**
+     * Remplace le hachage du mot de passe après un login réussi
+     * (format ou coût BCrypt différent de la cible configurée)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé : " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        return new CustumUserDetails(user, authorityTable.authoritiesFor(user.getRoles()));
     }
 } 
\ No newline at end of file
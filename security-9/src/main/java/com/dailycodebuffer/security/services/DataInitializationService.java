@@ -7,7 +7,7 @@ import com.dailycodebuffer.security.repositories.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityManager;
@@ -35,14 +35,14 @@ public class DataInitializationService implements CommandLineRunner {
     
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
     
     @PersistenceContext
     private EntityManager entityManager;
     
     public DataInitializationService(RoleRepository roleRepository, 
                                    UserRepository userRepository, 
-                                   BCryptPasswordEncoder passwordEncoder) {
+                                   PasswordEncoder passwordEncoder) {
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
@@ -193,7 +193,7 @@ public class DataInitializationService implements CommandLineRunner {
      */
     public void addPermissionsToRole(String roleName, Set<String> permissions) {
         roleRepository.findByName(roleName).ifPresent(role -> {
-            role.getPermissions().addAll(permissions);
+            permissions.forEach(role::addPermission);
             roleRepository.save(role);
             logger.info("Permissions ajoutées au rôle {}: {}", roleName, permissions);
         });
@@ -202,6 +202,9 @@ public class DataInitializationService implements CommandLineRunner {
     /**
      * Méthode utilitaire pour créer un nouvel utilisateur avec rôles
      * 
+     * Appelée en boucle dans une même transaction, les INSERT (users, user_roles)
+     * sont différés jusqu'au flush et envoyés par lots JDBC.
+     * 
      * @param username Nom d'utilisateur
      * @param email Email
      * @param password Mot de passe (sera encodé)
@@ -210,6 +213,7 @@ public class DataInitializationService implements CommandLineRunner {
      * @param roleNames Noms des rôles à assigner
      * @return L'utilisateur créé
      */
+    @Transactional
     public User createUserWithRoles(String username, String email, String password, 
                                   String firstName, String lastName, Set<String> roleNames) {
         
@@ -1,35 +1,110 @@
 package com.dailycodebuffer.security.services;
 
+import com.dailycodebuffer.security.CustumUserDetails;
+import com.dailycodebuffer.security.entities.Role;
+import com.dailycodebuffer.security.entities.User;
+import com.dailycodebuffer.security.exception.JwtException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.TreeSet;
 import java.util.function.Function;
 import javax.crypto.SecretKey;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import java.util.Base64;
 
 /**
  * Service pour la génération et la validation des tokens JWT.
+ *
+ * Métriques : auth.jwt (operation = sign | verify | parse). verify inclut la
+ * lecture du cache, parse n'est mesuré qu'en cas d'absence (vérification HMAC complète).
  */
 @Service
 public class JwtService {
+    // Claims portés par le token pour l'authentification sans état
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_PERMISSIONS = "perms";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+
     private final SecretKey secretKey;
+    // Parser immuable et thread-safe, construit une seule fois
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache tokenCache;
+    private final Timer signTimer;
+    private final Timer verifyTimer;
+    private final Timer parseTimer;
+
+    // Le registre est facultatif : le module réactif importe ce service sans Actuator
+    @Autowired
+    public JwtService(@Value("${jwt.secret}") String secret, VerifiedTokenCache tokenCache,
+                      ObjectProvider<MeterRegistry> meterRegistry) {
+        this(secret, tokenCache, meterRegistry.getIfAvailable(CompositeMeterRegistry::new));
+    }
 
-    public JwtService(@Value("${jwt.secret}") String secret) {
+    public JwtService(String secret, VerifiedTokenCache tokenCache, MeterRegistry meterRegistry) {
         // Décodage de la clé secrète en Base64
         this.secretKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
+        this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+        this.tokenCache = tokenCache;
+        this.signTimer = jwtTimer(meterRegistry, "sign");
+        this.verifyTimer = jwtTimer(meterRegistry, "verify");
+        this.parseTimer = jwtTimer(meterRegistry, "parse");
+    }
+
+    // Sans registre (benchmarks) : les métriques ne sont pas publiées
+    public JwtService(String secret, VerifiedTokenCache tokenCache) {
+        this(secret, tokenCache, new CompositeMeterRegistry());
+    }
+
+    private static Timer jwtTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.jwt")
+                .description("Durée des opérations sur les tokens JWT")
+                .tag("operation", operation)
+                .register(meterRegistry);
     }
 
     // Génère un token JWT pour un utilisateur
     public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        long start = System.nanoTime();
+        try {
+            Map<String, Object> claims = new HashMap<>();
+            if (userDetails instanceof CustumUserDetails custumUserDetails) {
+                addAuthorizationClaims(claims, custumUserDetails.getUser());
+            }
+            return createToken(claims, userDetails.getUsername());
+        } finally {
+            signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Embarque rôles actifs, permissions et version de sécurité dans le token
+    private void addAuthorizationClaims(Map<String, Object> claims, User user) {
+        Set<String> roles = new TreeSet<>();
+        Set<String> permissions = new TreeSet<>();
+        for (Role role : user.getRoles()) {
+            if (role.isActive()) {
+                roles.add(role.getName());
+                permissions.addAll(role.getPermissions());
+            }
+        }
+        claims.put(CLAIM_ROLES, roles);
+        claims.put(CLAIM_PERMISSIONS, permissions);
+        claims.put(CLAIM_SECURITY_VERSION, user.getSecurityVersion());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -42,31 +117,81 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Vérifie la signature et l'expiration du token en une seule passe
+     *
+     * Un token déjà vérifié est servi depuis le cache sans nouvelle vérification HMAC.
+     *
+     * @param token Token JWT compact
+     * @return Le token vérifié (sujet, dates, claims)
+     * @throws JwtException si le token est invalide, mal formé ou expiré
+     */
+    public VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        try {
+            VerifiedToken verified = tokenCache.get(token, this::parse);
+            // Garde-fou : une entrée ne doit jamais survivre à l'expiration du token
+            if (verified.isExpired(Instant.now())) {
+                tokenCache.invalidate(token);
+                throw JwtException.withoutStackTrace("Token JWT expiré", null);
+            }
+            return verified;
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private VerifiedToken parse(String token) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = parseClaims(token);
+            return new VerifiedToken(
+                    claims.getSubject(),
+                    toInstant(claims.getIssuedAt()),
+                    toInstant(claims.getExpiration()),
+                    claims);
+        } finally {
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
     // Extrait le username du token
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     // Vérifie si le token est valide
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        try {
+            return isTokenValid(verify(token), userDetails);
+        } catch (JwtException e) {
+            return false;
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // Vérifie un token déjà décodé, sans nouveau parsing
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.subject() != null
+                && token.subject().equals(userDetails.getUsername())
+                && !token.isExpired(Instant.now());
     }
 
+    // Passe par verify : le token est servi depuis le cache, sans second parsing complet
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = Jwts.claims().add(verify(token).claims()).build();
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+    private Claims parseClaims(String token) {
+        try {
+            // Le parser vérifie la signature et rejette les tokens expirés
+            return jwtParser.parseSignedClaims(token).getPayload();
+        } catch (io.jsonwebtoken.JwtException | IllegalArgumentException e) {
+            throw JwtException.withoutStackTrace("Token JWT invalide : " + e.getMessage(), e);
+        }
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
-} 
\ No newline at end of file
+}
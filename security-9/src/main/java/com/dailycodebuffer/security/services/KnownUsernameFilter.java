@@ -0,0 +1,203 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.cache.CacheInvalidationChannel;
+import com.dailycodebuffer.security.cache.CacheInvalidationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom des noms d'utilisateur et emails existants
+ *
+ * Un login sur un nom absent du filtre est refusé sans requête en base :
+ * le trafic de force brute sur des noms aléatoires n'atteint jamais la base.
+ * Le filtre n'a pas de faux négatif (un nom connu répond toujours true),
+ * seulement des faux positifs, qui retombent sur le chemin normal.
+ *
+ * - Construit au démarrage par un parcours de la table par lots de clés (id)
+ * - Alimenté par le listener JPA à chaque création ou renommage d'utilisateur,
+ *   et diffusé aux autres instances après commit
+ * - Tant que la construction n'est pas terminée, tous les noms sont considérés possibles
+ * - Les suppressions ne sont pas retirées (simples faux positifs)
+ *
+ * Les bits sont tenus dans un AtomicLongArray : ajouts et lectures sans verrou.
+ */
+@Component
+public class KnownUsernameFilter {
+
+    public static final String REGION = "UserCreated";
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownUsernameFilter.class);
+
+    private static final String SCAN_SQL = "SELECT id, username, email FROM users WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String FIND_SQL = "SELECT username, email FROM users WHERE id = ?";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationChannel channel;
+    private final boolean enabled;
+    private final int scanBatchSize;
+    private final long expectedInsertions;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong insertions = new AtomicLong();
+    private volatile boolean ready;
+
+    public KnownUsernameFilter(JdbcTemplate jdbcTemplate,
+                               CacheInvalidationChannel channel,
+                               @Value("${security.username-filter.enabled:true}") boolean enabled,
+                               @Value("${security.username-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${security.username-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${security.username-filter.scan-batch-size:10000}") int scanBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        this.enabled = enabled;
+        this.scanBatchSize = scanBatchSize;
+        this.expectedInsertions = expectedInsertions;
+        // Taille optimale : m = -n ln(p) / ln(2)², k = m/n ln(2)
+        long words = Math.max(1, (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)) / Long.SIZE));
+        this.bits = new AtomicLongArray(Math.toIntExact(words));
+        this.bitCount = words * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        if (enabled) {
+            channel.subscribe(this::onEvent);
+        }
+    }
+
+    /**
+     * Construit le filtre depuis la table des utilisateurs
+     * Les ajouts concurrents (inscriptions pendant le parcours) écrivent dans le même tableau de bits
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long[] lastId = {0L};
+        int read;
+        do {
+            int[] rows = {0};
+            jdbcTemplate.query(SCAN_SQL, rs -> {
+                lastId[0] = rs.getLong("id");
+                put(rs.getString("username"));
+                put(rs.getString("email"));
+                rows[0]++;
+            }, lastId[0], scanBatchSize);
+            read = rows[0];
+        } while (read == scanBatchSize);
+        ready = true;
+
+        long count = insertions.get();
+        logger.info("Filtre des noms d'utilisateur construit: {} clés, {} bits, {} hachages en {} ms",
+                count, bitCount, hashCount, (System.nanoTime() - start) / 1_000_000);
+        if (count > expectedInsertions) {
+            logger.warn("Filtre des noms d'utilisateur saturé ({} clés pour {} prévues) : augmenter "
+                    + "security.username-filter.expected-insertions", count, expectedInsertions);
+        }
+    }
+
+    /**
+     * @return false si le nom (ou l'email) n'existe certainement pas
+     */
+    public boolean mightContain(String key) {
+        if (!enabled || !ready) {
+            return true;
+        }
+        if (key == null) {
+            return false;
+        }
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ajoute un nom d'utilisateur ou un email au filtre
+     */
+    public void put(String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * Signale la création d'un utilisateur aux autres instances, après commit
+     */
+    public void userCreated(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        CacheInvalidationEvent event = new CacheInvalidationEvent(nodeId, REGION, userId);
+        TransactionHooks.afterCommit(() -> channel.publish(event));
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    private void onEvent(CacheInvalidationEvent event) {
+        if (nodeId.equals(event.originNodeId()) || !REGION.equals(event.region()) || event.entityId() == null) {
+            return;
+        }
+        jdbcTemplate.query(FIND_SQL, rs -> {
+            put(rs.getString("username"));
+            put(rs.getString("email"));
+        }, event.entityId());
+    }
+
+    private long index(int combinedHash) {
+        // Valeur positive dans [0, bitCount)
+        return (combinedHash & 0x7fffffffL) % bitCount;
+    }
+
+    /**
+     * FNV-1a 64 bits suivi du mélange final de MurmurHash3
+     */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
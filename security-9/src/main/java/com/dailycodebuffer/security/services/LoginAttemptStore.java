@@ -0,0 +1,276 @@
+package com.dailycodebuffer.security.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suivi des connexions en écriture différée (tentatives échouées, verrouillage, dernier login)
+ *
+ * Écrire ces champs à chaque authentification coûterait un UPDATE par login,
+ * et une rafale d'essais sur un même compte créerait de la contention sur sa
+ * ligne. L'état est tenu en mémoire, les décisions de verrouillage sont prises
+ * sur cet état, et les changements sont regroupés puis écrits périodiquement
+ * en UPDATE par lots (une ligne par utilisateur modifié, quel que soit le
+ * nombre de tentatives). Au démarrage, l'état est rechargé depuis la base,
+ * avant que le serveur web n'accepte de connexions.
+ *
+ * La mémoire est bornée par max-entries. Les noms écartés par le filtre de
+ * Bloom ne sont jamais suivis ; une fois la borne atteinte, seuls les comptes
+ * dont l'existence est confirmée en base sont encore admis : une rafale de noms
+ * inconnus ne peut pas empêcher le verrouillage d'un compte réel.
+ *
+ * Les colonnes concernées ne sont écrites que par ce composant (non modifiables via JPA).
+ * Chaque instance tient son propre état : en cluster, le seuil s'applique par instance.
+ */
+@Component
+public class LoginAttemptStore implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptStore.class);
+
+    private static final String FLUSH_SQL = """
+            UPDATE users SET failed_login_attempts = ?, locked_at = ?, last_login_at = COALESCE(?, last_login_at)
+            WHERE username = ?""";
+
+    private static final String RECOVER_SQL = """
+            SELECT username, failed_login_attempts, locked_at FROM users
+            WHERE failed_login_attempts > 0 OR locked_at IS NOT NULL""";
+
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM users WHERE username = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final KnownUsernameFilter knownUsernameFilter;
+    private final int maxAttempts;
+    private final Duration lockDuration;
+    private final int maxEntries;
+    private final int batchSize;
+    private final Clock clock;
+    private final Map<String, LoginState> states = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoginAttemptStore(JdbcTemplate jdbcTemplate,
+                             KnownUsernameFilter knownUsernameFilter,
+                             @Value("${security.login-tracking.max-attempts:5}") int maxAttempts,
+                             @Value("${security.login-tracking.lock-minutes:30}") long lockMinutes,
+                             @Value("${security.login-tracking.max-entries:100000}") int maxEntries,
+                             @Value("${security.login-tracking.batch-size:500}") int batchSize) {
+        this(jdbcTemplate, knownUsernameFilter, maxAttempts, lockMinutes, maxEntries, batchSize, Clock.systemDefaultZone());
+    }
+
+    LoginAttemptStore(JdbcTemplate jdbcTemplate, KnownUsernameFilter knownUsernameFilter,
+                      int maxAttempts, long lockMinutes, int maxEntries, int batchSize, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.knownUsernameFilter = knownUsernameFilter;
+        this.maxAttempts = maxAttempts;
+        this.lockDuration = Duration.ofMinutes(lockMinutes);
+        this.maxEntries = maxEntries;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Recharge les compteurs et verrous persistés
+     * Appelé une fois tous les singletons créés (schéma en place), avant le démarrage du serveur web
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        recover();
+    }
+
+    void recover() {
+        jdbcTemplate.query(RECOVER_SQL, rs -> {
+            Timestamp lockedAt = rs.getTimestamp("locked_at");
+            LoginState state = new LoginState();
+            state.failedAttempts.set(rs.getInt("failed_login_attempts"));
+            state.lockedAt = lockedAt != null ? lockedAt.toLocalDateTime() : null;
+            states.put(rs.getString("username"), state);
+        });
+        logger.info("Suivi des connexions: {} comptes avec échecs ou verrou rechargés", states.size());
+    }
+
+    /**
+     * Indique si le compte est verrouillé (seuil d'échecs atteint, verrou non expiré)
+     */
+    public boolean isLocked(String username) {
+        LoginState state = states.get(username);
+        if (state == null) {
+            return false;
+        }
+        return isLockActive(state.lockedAt, LocalDateTime.now(clock));
+    }
+
+    /**
+     * Enregistre un échec ; verrouille le compte au seuil
+     * Un verrou expiré repart de zéro : le compte est à nouveau verrouillé après maxAttempts échecs
+     */
+    public void recordFailure(String username) {
+        LoginState state = stateFor(username);
+        if (state == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        int attempts;
+        // Par compte : la remise à zéro d'un verrou expiré et l'incrément ne doivent pas s'entrelacer
+        synchronized (state) {
+            if (state.lockedAt != null && !isLockActive(state.lockedAt, now)) {
+                state.failedAttempts.set(0);
+                state.lockedAt = null;
+            }
+            attempts = state.failedAttempts.incrementAndGet();
+            if (attempts >= maxAttempts && state.lockedAt == null) {
+                state.lockedAt = now;
+                logger.warn("Compte {} verrouillé après {} échecs", username, attempts);
+            }
+        }
+        state.dirty.set(true);
+    }
+
+    private boolean isLockActive(LocalDateTime lockedAt, LocalDateTime now) {
+        return lockedAt != null && lockedAt.plus(lockDuration).isAfter(now);
+    }
+
+    /**
+     * Enregistre une connexion réussie : remet le compteur à zéro et lève le verrou
+     */
+    public void recordSuccess(String username) {
+        LoginState state = stateFor(username);
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            state.failedAttempts.set(0);
+            state.lockedAt = null;
+        }
+        state.lastLoginAt = LocalDateTime.now(clock);
+        state.dirty.set(true);
+    }
+
+    /**
+     * Nombre d'échecs consécutifs connus pour le compte
+     */
+    public int failedAttempts(String username) {
+        LoginState state = states.get(username);
+        return state != null ? state.failedAttempts.get() : 0;
+    }
+
+    private LoginState stateFor(String username) {
+        LoginState state = states.get(username);
+        if (state != null) {
+            return state;
+        }
+        if (!knownUsernameFilter.mightContain(username)) {
+            // Compte certainement inexistant : rien à verrouiller
+            return null;
+        }
+        if (states.size() >= maxEntries && !accountExists(username)) {
+            // Borne mémoire atteinte (ex : rafale de noms inconnus) : seuls les comptes réels sont encore suivis
+            logger.debug("Suivi des connexions saturé, tentative ignorée pour {}", username);
+            return null;
+        }
+        return states.computeIfAbsent(username, key -> new LoginState());
+    }
+
+    private boolean accountExists(String username) {
+        Integer count = jdbcTemplate.queryForObject(EXISTS_SQL, Integer.class, username);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Écrit les changements accumulés en UPDATE par lots
+     */
+    @Scheduled(fixedDelayString = "${security.login-tracking.flush-interval-ms:5000}")
+    public void flush() {
+        List<String> usernames = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<String, LoginState> entry : states.entrySet()) {
+            LoginState state = entry.getValue();
+            // Remis à faux avant la lecture : un changement concurrent sera écrit au passage suivant
+            if (!state.dirty.compareAndSet(true, false)) {
+                continue;
+            }
+            LocalDateTime lockedAt = state.lockedAt;
+            LocalDateTime lastLoginAt = state.lastLoginAt;
+            usernames.add(entry.getKey());
+            batch.add(new Object[]{
+                    state.failedAttempts.get(),
+                    lockedAt != null ? Timestamp.valueOf(lockedAt) : null,
+                    lastLoginAt != null ? Timestamp.valueOf(lastLoginAt) : null,
+                    entry.getKey()});
+            if (batch.size() >= batchSize) {
+                write(usernames, batch);
+                usernames.clear();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(usernames, batch);
+        }
+    }
+
+    private void write(List<String> usernames, List<Object[]> batch) {
+        int[] counts;
+        try {
+            counts = jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException e) {
+            // Réessayé au passage suivant
+            for (String username : usernames) {
+                LoginState state = states.get(username);
+                if (state != null) {
+                    state.dirty.set(true);
+                }
+            }
+            logger.warn("Écriture du suivi des connexions en échec ({} comptes)", usernames.size(), e);
+            return;
+        }
+        for (int i = 0; i < usernames.size(); i++) {
+            LoginState state = states.get(usernames.get(i));
+            if (state == null || state.dirty.get()) {
+                continue;
+            }
+            // Compte inexistant, ou rien à garder en mémoire : l'entrée est libérée
+            boolean unknown = i < counts.length && counts[i] == 0;
+            if (unknown || (state.failedAttempts.get() == 0 && state.lockedAt == null)) {
+                states.remove(usernames.get(i), state);
+            }
+        }
+    }
+
+    /**
+     * Dernière écriture à l'arrêt
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * État en mémoire d'un compte
+     */
+    private static final class LoginState {
+        private final AtomicInteger failedAttempts = new AtomicInteger();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private volatile LocalDateTime lockedAt;
+        private volatile LocalDateTime lastLoginAt;
+    }
+}
@@ -0,0 +1,133 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitation du débit de /auth/login, par nom d'utilisateur et par adresse IP
+ *
+ * Chaque clé est un seau GCRA (generic cell rate algorithm) : un seul AtomicLong
+ * contenant l'heure d'arrivée théorique de la prochaine requête, mis à jour par
+ * CAS, sans verrou. Une rafale de {@code burst} requêtes est admise, puis une
+ * requête toutes les {@code 60 / requests-per-minute} secondes.
+ * Les clés inactives sont évincées (mémoire bornée).
+ *
+ * La vérification a lieu avant toute recherche en base et tout calcul BCrypt.
+ *
+ * Métriques : auth.login.ratelimit (tags key = username|ip, decision = allowed|rejected)
+ * et auth.login.ratelimit.keys (clés suivies).
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private final Limit usernameLimit;
+    private final Limit ipLimit;
+
+    @Autowired
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${security.login-rate-limit.enabled:true}") boolean enabled,
+                            @Value("${security.login-rate-limit.username.requests-per-minute:10}") int usernamePerMinute,
+                            @Value("${security.login-rate-limit.username.burst:5}") int usernameBurst,
+                            @Value("${security.login-rate-limit.ip.requests-per-minute:60}") int ipPerMinute,
+                            @Value("${security.login-rate-limit.ip.burst:20}") int ipBurst,
+                            @Value("${security.login-rate-limit.max-keys:100000}") long maxKeys) {
+        this(meterRegistry, enabled, usernamePerMinute, usernameBurst, ipPerMinute, ipBurst, maxKeys, System::nanoTime);
+    }
+
+    LoginRateLimiter(MeterRegistry meterRegistry, boolean enabled,
+                     int usernamePerMinute, int usernameBurst, int ipPerMinute, int ipBurst,
+                     long maxKeys, LongSupplier clock) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.usernameLimit = new Limit("username", usernamePerMinute, usernameBurst, maxKeys, meterRegistry);
+        this.ipLimit = new Limit("ip", ipPerMinute, ipBurst, maxKeys, meterRegistry);
+    }
+
+    /**
+     * Consomme une tentative pour l'adresse puis pour le nom d'utilisateur
+     *
+     * @throws RateLimitExceededException si l'une des deux limites est atteinte
+     */
+    public void check(String username, String remoteAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (remoteAddress != null) {
+            ipLimit.acquire(remoteAddress, now);
+        }
+        if (username != null) {
+            usernameLimit.acquire(username, now);
+        }
+    }
+
+    /**
+     * Limite GCRA pour une famille de clés
+     */
+    private static final class Limit {
+        private final String name;
+        private final long emissionInterval;
+        private final long tolerance;
+        private final Cache<String, AtomicLong> buckets;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Limit(String name, int requestsPerMinute, int burst, long maxKeys, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.emissionInterval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+            this.tolerance = emissionInterval * Math.max(0, burst - 1);
+            // Un seau inactif depuis plus que la rafale complète est revenu à l'état initial : inutile de le garder
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofNanos(tolerance + emissionInterval))
+                    .build();
+            this.allowed = decisionCounter(meterRegistry, name, "allowed");
+            this.rejected = decisionCounter(meterRegistry, name, "rejected");
+            Gauge.builder("auth.login.ratelimit.keys", buckets, Cache::estimatedSize)
+                    .description("Clés suivies par le limiteur de connexions")
+                    .tag("key", name)
+                    .register(meterRegistry);
+        }
+
+        private static Counter decisionCounter(MeterRegistry meterRegistry, String key, String decision) {
+            return Counter.builder("auth.login.ratelimit")
+                    .description("Décisions du limiteur de connexions")
+                    .tag("key", key)
+                    .tag("decision", decision)
+                    .register(meterRegistry);
+        }
+
+        void acquire(String key, long now) {
+            AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(now));
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long start = Math.max(tat, now);
+                long wait = start - now - tolerance;
+                if (wait > 0) {
+                    rejected.increment();
+                    long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+                    throw new RateLimitExceededException(
+                            "Trop de tentatives de connexion (" + name + "), veuillez réessayer plus tard", retryAfterSeconds);
+                }
+                if (theoreticalArrival.compareAndSet(tat, start + emissionInterval)) {
+                    allowed.increment();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Pool dédié aux opérations BCrypt (hachage à l'inscription, vérification au login)
+ *
+ * BCrypt est volontairement coûteux en CPU : exécuté sur les threads Tomcat,
+ * une rafale de logins bloque les threads qui servent le reste de l'API.
+ * Ce pool est borné en threads et en file d'attente ; lorsqu'il est saturé,
+ * la tâche est refusée immédiatement ({@link ServiceOverloadedException}, 503)
+ * plutôt que d'accumuler de la latence.
+ * Ce pool reste sur des threads plateforme même en mode threads virtuels :
+ * le travail est purement CPU, c'est sa taille qui borne la concurrence.
+ *
+ * Métriques :
+ * - auth.password.hash : durée d'exécution, par opération
+ * - auth.password.hash.wait : temps passé en file d'attente
+ * - auth.password.hash.queue : profondeur de la file
+ * - auth.password.hash.rejected : tâches refusées
+ */
+@Service
+public class PasswordHashingService implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final PasswordEncoder passwordEncoder;
+    private final long retryAfterSeconds;
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.password.hashing.threads:0}") int threads,
+                                  @Value("${security.password.hashing.queue-capacity:200}") int queueCapacity,
+                                  @Value("${security.password.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.meterRegistry = meterRegistry;
+        this.waitTimer = Timer.builder("auth.password.hash.wait")
+                .description("Temps d'attente avant exécution d'une opération BCrypt")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Opérations BCrypt refusées (pool saturé)")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Opérations BCrypt en attente")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hache un mot de passe hors du thread de requête
+     */
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Exécute une tâche dominée par BCrypt (ex : authentification) sur le pool dédié
+     *
+     * @param operation Nom de l'opération (tag des métriques)
+     * @param task Tâche à exécuter
+     * @throws ServiceOverloadedException si le pool et sa file sont pleins
+     */
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> task) {
+        Timer timer = Timer.builder("auth.password.hash")
+                .description("Durée des opérations BCrypt")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(task);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException(
+                    "Service d'authentification surchargé, veuillez réessayer", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Nombre d'opérations en attente
+     */
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,124 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.entities.Role;
+import com.dailycodebuffer.security.repositories.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index inversé en mémoire : permission → ids des rôles qui l'accordent
+ *
+ * Remplace la jointure SQL de RoleRepository.findByPermission pour répondre
+ * à "quels rôles peuvent PRODUCT_DELETE ?". L'index est construit au
+ * démarrage, puis tenu à jour par les événements de persistance des rôles
+ * (après commit). Il est publié sous forme d'instantané immuable remplacé
+ * par copie à chaque écriture : les lectures sont sans verrou.
+ */
+@Component
+public class PermissionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionIndex.class);
+
+    // Résolu à la demande : l'index est alimenté par les listeners JPA, créés avec l'EntityManagerFactory
+    private final ObjectProvider<RoleRepository> roleRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public PermissionIndex(ObjectProvider<RoleRepository> roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * Construit l'index à partir de tous les rôles, une fois les données initialisées
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, Set<String>> permissionsByRole = new HashMap<>();
+        for (Role role : roleRepository.getObject().findAllWithPermissions()) {
+            permissionsByRole.put(role.getId(), Set.copyOf(role.getPermissions()));
+        }
+        synchronized (this) {
+            snapshot = Snapshot.of(permissionsByRole);
+        }
+        logger.info("Index des permissions construit: {} rôles", permissionsByRole.size());
+    }
+
+    /**
+     * Ids des rôles accordant la permission (lecture sans verrou)
+     */
+    public Set<Long> roleIdsWithPermission(String permission) {
+        return snapshot.roleIdsByPermission().getOrDefault(permission, Set.of());
+    }
+
+    /**
+     * Rôles accordant la permission, résolus par id (cache de second niveau)
+     */
+    public List<Role> rolesWithPermission(String permission) {
+        Set<Long> ids = roleIdsWithPermission(permission);
+        return ids.isEmpty() ? List.of() : roleRepository.getObject().findAllById(ids);
+    }
+
+    /**
+     * Met à jour les permissions d'un rôle dans l'index
+     */
+    public synchronized void put(Long roleId, Collection<String> permissions) {
+        Map<Long, Set<String>> permissionsByRole = new HashMap<>(snapshot.permissionsByRole());
+        permissionsByRole.put(roleId, Set.copyOf(permissions));
+        snapshot = Snapshot.of(permissionsByRole);
+    }
+
+    /**
+     * Retire un rôle de l'index
+     */
+    public synchronized void remove(Long roleId) {
+        if (!snapshot.permissionsByRole().containsKey(roleId)) {
+            return;
+        }
+        Map<Long, Set<String>> permissionsByRole = new HashMap<>(snapshot.permissionsByRole());
+        permissionsByRole.remove(roleId);
+        snapshot = Snapshot.of(permissionsByRole);
+    }
+
+    /**
+     * Recharge un rôle depuis la base (modification faite par une autre instance)
+     */
+    public void refresh(Long roleId) {
+        if (roleId == null) {
+            rebuild();
+            return;
+        }
+        roleRepository.getObject().findWithPermissionsById(roleId)
+                .ifPresentOrElse(role -> put(role.getId(), role.getPermissions()), () -> remove(roleId));
+    }
+
+    /**
+     * Instantané immuable de l'index, dans les deux sens
+     */
+    private record Snapshot(Map<Long, Set<String>> permissionsByRole, Map<String, Set<Long>> roleIdsByPermission) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        static Snapshot of(Map<Long, Set<String>> permissionsByRole) {
+            Map<String, Set<Long>> inverted = new HashMap<>();
+            permissionsByRole.forEach((roleId, permissions) -> {
+                for (String permission : permissions) {
+                    inverted.computeIfAbsent(permission, p -> new HashSet<>()).add(roleId);
+                }
+            });
+            Map<String, Set<Long>> frozen = new HashMap<>();
+            inverted.forEach((permission, roleIds) -> frozen.put(permission, Set.copyOf(roleIds)));
+            return new Snapshot(Map.copyOf(permissionsByRole), Map.copyOf(frozen));
+        }
+    }
+}
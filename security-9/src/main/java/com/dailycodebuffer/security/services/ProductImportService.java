@@ -0,0 +1,553 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.dto.ProductImportRow;
+import com.dailycodebuffer.security.dto.ProductImportStatus;
+import com.dailycodebuffer.security.entities.Product;
+import com.dailycodebuffer.security.exception.PayloadTooLargeException;
+import com.dailycodebuffer.security.exception.ServiceOverloadedException;
+import com.dailycodebuffer.security.repositories.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Import en masse du catalogue produits (CSV ou NDJSON)
+ * 
+ * Le corps de la requête est lu en flux et traité par lots : chaque lot est
+ * validé, puis écrit dans sa propre transaction (une requête pour retrouver
+ * les références existantes, puis INSERT/UPDATE regroupés en lots JDBC).
+ * Le contexte de persistance est vidé entre deux lots : la mémoire reste
+ * constante quelle que soit la taille du fichier. Les lots déjà validés
+ * restent écrits si un lot suivant échoue.
+ * 
+ * L'import est asynchrone : le corps est d'abord recopié dans un fichier
+ * temporaire (la requête se termine dès la réception), puis traité par un
+ * pool dédié borné en threads et en file d'attente. Une place est réservée
+ * avant la réception : lorsque toutes sont prises, l'import est refusé sans
+ * rien écrire sur disque ({@link ServiceOverloadedException}, 503). Le fichier
+ * reçu est limité à max-bytes octets ({@link PayloadTooLargeException}, 413).
+ * La progression se consulte via {@link #getStatus(String)}.
+ * 
+ * Métriques :
+ * - products.import.rows : lignes traitées, par résultat (inserted, updated, rejected)
+ * - products.import.chunk : durée d'écriture d'un lot
+ */
+@Service
+public class ProductImportService implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+    private static final List<String> CSV_COLUMNS = List.of("sku", "name", "description", "category", "price");
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final ProductRepository productRepository;
+    private final ProductPageCache productPageCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+    // Places d'import (en cours ou en attente), réservées avant la réception du fichier
+    private final Semaphore slots;
+    private final long maxBytes;
+    private final Counter insertedCounter;
+    private final Counter updatedCounter;
+    private final Counter rejectedCounter;
+    private final Timer chunkTimer;
+    
+    // Jobs récents, consultables pendant et après l'import
+    private final Cache<String, Job> jobs = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(Duration.ofHours(24))
+            .build();
+    
+    public ProductImportService(ProductRepository productRepository,
+                                ProductPageCache productPageCache,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                MeterRegistry meterRegistry,
+                                @Value("${products.import.chunk-size:1000}") int chunkSize,
+                                @Value("${products.import.max-errors:100}") int maxErrors,
+                                @Value("${products.import.threads:1}") int threads,
+                                @Value("${products.import.queue-capacity:4}") int queueCapacity,
+                                @Value("${products.import.retry-after-seconds:30}") long retryAfterSeconds,
+                                @Value("${products.import.max-bytes:268435456}") long maxBytes) {
+        this.productRepository = productRepository;
+        this.productPageCache = productPageCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("product-import-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.slots = new Semaphore(threads + queueCapacity);
+        this.maxBytes = maxBytes;
+        this.insertedCounter = rowCounter(meterRegistry, "inserted");
+        this.updatedCounter = rowCounter(meterRegistry, "updated");
+        this.rejectedCounter = rowCounter(meterRegistry, "rejected");
+        this.chunkTimer = Timer.builder("products.import.chunk")
+                .description("Durée d'écriture d'un lot d'import")
+                .register(meterRegistry);
+    }
+    
+    private static Counter rowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("products.import.rows")
+                .description("Lignes d'import de produits traitées")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Formats d'import supportés
+     */
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+    
+    /**
+     * Reçoit le flux et planifie son import
+     * 
+     * Une place du pool est réservée avant toute écriture ; le flux est ensuite
+     * recopié dans un fichier temporaire (dans le thread appelant) et le
+     * traitement se poursuit sur le pool d'import.
+     * 
+     * @param format Format du flux
+     * @param in Corps de la requête (non fermé)
+     * @return État initial du job (QUEUED)
+     * @throws IOException si le flux ne peut pas être recopié
+     * @throws ServiceOverloadedException si trop d'imports sont déjà en cours ou en attente
+     * @throws PayloadTooLargeException si le flux dépasse max-bytes octets
+     */
+    public ProductImportStatus startImport(Format format, InputStream in) throws IOException {
+        if (!slots.tryAcquire()) {
+            throw new ServiceOverloadedException("Trop d'imports en cours, veuillez réessayer", retryAfterSeconds);
+        }
+        Path spool = null;
+        boolean scheduled = false;
+        try {
+            spool = Files.createTempFile("product-import-", ".tmp");
+            long size = spool(in, spool);
+            
+            Job job = new Job(UUID.randomUUID().toString(), maxErrors);
+            jobs.put(job.id, job);
+            Path received = spool;
+            try {
+                executor.execute(() -> run(job, format, received));
+            } catch (RejectedExecutionException e) {
+                jobs.invalidate(job.id);
+                throw new ServiceOverloadedException("Trop d'imports en cours, veuillez réessayer", retryAfterSeconds);
+            }
+            scheduled = true;
+            logger.info("Import {} {} planifié ({} octets)", format, job.id, size);
+            return job.status();
+        } finally {
+            // Job non planifié : la place et le fichier sont libérés ici, sinon à la fin de run()
+            if (!scheduled) {
+                if (spool != null) {
+                    deleteSpool(spool);
+                }
+                slots.release();
+            }
+        }
+    }
+    
+    /**
+     * Recopie le flux dans le fichier, dans la limite de max-bytes octets
+     */
+    private long spool(InputStream in, Path spool) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(spool)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new PayloadTooLargeException(maxBytes);
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Importe le fichier reçu jusqu'à son terme (thread du pool d'import), puis le supprime
+     */
+    private void run(Job job, Format format, Path spool) {
+        job.start();
+        logger.info("Import {} {} démarré", format, job.id);
+        
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(spool), StandardCharsets.UTF_8))) {
+            RowSource source = format == Format.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+            List<ProductImportRow> chunk = new ArrayList<>(chunkSize);
+            ParsedRow parsed;
+            while ((parsed = source.next()) != null) {
+                long line = job.rowsRead.incrementAndGet();
+                ProductImportRow row = validate(parsed, line, job);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, job);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, job);
+            }
+            job.finish("COMPLETED");
+        } catch (IOException | RuntimeException e) {
+            job.error("import interrompu: " + e.getMessage());
+            job.finish("FAILED");
+            logger.warn("Import {} en échec après {} lignes", job.id, job.rowsRead.get(), e);
+        } finally {
+            productPageCache.invalidateAll();
+            deleteSpool(spool);
+            slots.release();
+        }
+        
+        ProductImportStatus status = job.status();
+        logger.info("Import {} terminé: {} lignes, {} créées, {} mises à jour, {} rejetées ({} lignes/s)",
+                job.id, status.rowsRead(), status.inserted(), status.updated(), status.rejected(),
+                Math.round(status.rowsPerSecond()));
+    }
+    
+    private static void deleteSpool(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            logger.warn("Fichier d'import {} non supprimé", spool, e);
+        }
+    }
+    
+    /**
+     * État d'un job récent
+     */
+    public Optional<ProductImportStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(Job::status);
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+    
+    private ProductImportRow validate(ParsedRow parsed, long line, Job job) {
+        if (parsed.error() != null) {
+            reject(job, line, parsed.error());
+            return null;
+        }
+        Set<ConstraintViolation<ProductImportRow>> violations = validator.validate(parsed.row());
+        if (!violations.isEmpty()) {
+            ConstraintViolation<ProductImportRow> violation = violations.iterator().next();
+            reject(job, line, violation.getPropertyPath() + " " + violation.getMessage());
+            return null;
+        }
+        return parsed.row();
+    }
+    
+    private void reject(Job job, long line, String message) {
+        job.rejected.incrementAndGet();
+        rejectedCounter.increment();
+        job.error("ligne " + line + ": " + message);
+    }
+    
+    /**
+     * Écrit un lot dans sa propre transaction ; la dernière occurrence d'une référence l'emporte
+     */
+    private void writeChunk(List<ProductImportRow> chunk, Job job) {
+        Map<String, ProductImportRow> bySku = new LinkedHashMap<>();
+        for (ProductImportRow row : chunk) {
+            bySku.put(row.sku(), row);
+        }
+        chunkTimer.record(() -> transactionTemplate.executeWithoutResult(tx -> {
+            Map<String, Product> existing = new HashMap<>();
+            for (Product product : productRepository.findBySkuIn(bySku.keySet())) {
+                existing.put(product.getSku(), product);
+            }
+            long inserted = 0;
+            long updated = 0;
+            for (ProductImportRow row : bySku.values()) {
+                Product product = existing.get(row.sku());
+                if (product == null) {
+                    product = Product.builder().sku(row.sku()).build();
+                    apply(product, row);
+                    entityManager.persist(product);
+                    inserted++;
+                } else {
+                    apply(product, row);
+                    updated++;
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            job.inserted.addAndGet(inserted);
+            job.updated.addAndGet(updated);
+            insertedCounter.increment(inserted);
+            updatedCounter.increment(updated);
+        }));
+    }
+    
+    private static void apply(Product product, ProductImportRow row) {
+        product.setName(row.name());
+        product.setDescription(row.description());
+        product.setCategory(row.category());
+        product.setPrice(row.price());
+    }
+    
+    /**
+     * Ligne lue : soit une ligne à valider, soit une erreur de format
+     */
+    private record ParsedRow(ProductImportRow row, String error) {
+    }
+    
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+    
+    /**
+     * Un objet JSON par ligne ; les lignes vides sont ignorées
+     */
+    private final class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+        
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+        
+        @Override
+        public ParsedRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ParsedRow(objectMapper.readValue(line, ProductImportRow.class), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow(null, "JSON invalide");
+                }
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * CSV avec en-tête (colonnes sku, name, description, category, price, dans un ordre quelconque)
+     */
+    private static final class CsvRowSource implements RowSource {
+        private final CsvReader reader;
+        private final int[] columns = new int[CSV_COLUMNS.size()];
+        
+        CsvRowSource(Reader reader) throws IOException {
+            this.reader = new CsvReader(reader);
+            List<String> header = this.reader.readRecord();
+            if (header == null) {
+                throw new IOException("En-tête CSV manquant");
+            }
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = header.indexOf(CSV_COLUMNS.get(i));
+                if (columns[i] < 0 && !"description".equals(CSV_COLUMNS.get(i))) {
+                    throw new IOException("Colonne CSV manquante: " + CSV_COLUMNS.get(i));
+                }
+            }
+        }
+        
+        @Override
+        public ParsedRow next() throws IOException {
+            List<String> record = reader.readRecord();
+            if (record == null) {
+                return null;
+            }
+            try {
+                String price = field(record, 4);
+                return new ParsedRow(new ProductImportRow(
+                        field(record, 0),
+                        field(record, 1),
+                        field(record, 2),
+                        field(record, 3),
+                        price != null ? new BigDecimal(price) : null), null);
+            } catch (NumberFormatException e) {
+                return new ParsedRow(null, "prix invalide");
+            }
+        }
+        
+        private String field(List<String> record, int column) {
+            int index = columns[column];
+            if (index < 0 || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index);
+            return value.isEmpty() ? null : value;
+        }
+    }
+    
+    /**
+     * Lecteur CSV minimal (RFC 4180) : champs entre guillemets, guillemets doublés, retours à la ligne
+     */
+    static final class CsvReader {
+        private final Reader reader;
+        private int pending = -2;
+        
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+        
+        List<String> readRecord() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> record = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("Guillemet CSV non fermé");
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            record.add(field.toString());
+            return record;
+        }
+        
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+    
+    /**
+     * Compteurs d'un job, mis à jour par le thread d'import et lus par les consultations d'état
+     */
+    private static final class Job {
+        private final String id;
+        private final int maxErrors;
+        private final Instant receivedAt = Instant.now();
+        private volatile Instant startedAt;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<String> errors = new CopyOnWriteArrayList<>();
+        private volatile String state = "QUEUED";
+        private volatile Instant finishedAt;
+        
+        Job(String id, int maxErrors) {
+            this.id = id;
+            this.maxErrors = maxErrors;
+        }
+        
+        void error(String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(message);
+            }
+        }
+        
+        void start() {
+            startedAt = Instant.now();
+            state = "RUNNING";
+        }
+        
+        void finish(String finalState) {
+            finishedAt = Instant.now();
+            state = finalState;
+        }
+        
+        ProductImportStatus status() {
+            Instant start = startedAt != null ? startedAt : receivedAt;
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long millis = Math.max(1, Duration.between(start, end).toMillis());
+            long read = rowsRead.get();
+            return new ProductImportStatus(id, state, read, inserted.get(), updated.get(), rejected.get(),
+                    read * 1000.0 / millis, start, finishedAt, List.copyOf(errors));
+        }
+    }
+}
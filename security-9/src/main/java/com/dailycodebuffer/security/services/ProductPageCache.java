@@ -0,0 +1,76 @@
+package com.dailycodebuffer.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Cache borné des pages du catalogue (lecture à travers le cache)
+ *
+ * La clé est la requête complète (filtres, tri, curseur, taille) ; la valeur
+ * contient la page et son ETag précalculé, ce qui permet de répondre 304
+ * sans recalculer ni sérialiser la page.
+ */
+@Component
+public class ProductPageCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<ProductService.PageQuery, CompletableFuture<ProductService.PageResult>> cache;
+
+    public ProductPageCache(@Value("${products.cache.enabled:true}") boolean enabled,
+                            @Value("${products.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${products.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retourne la page depuis le cache ou la charge via le loader
+     * (chargement hors verrou, voir {@link CacheLoads})
+     */
+    public ProductService.PageResult get(ProductService.PageQuery query,
+                                         Function<ProductService.PageQuery, ProductService.PageResult> loader) {
+        if (!enabled) {
+            return loader.apply(query);
+        }
+        return CacheLoads.get(cache, query, loader);
+    }
+
+    /**
+     * Invalide toutes les pages, immédiatement puis après commit de la transaction en cours
+     * (toute écriture peut déplacer des produits d'une page à l'autre)
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        TransactionHooks.afterCommit(cache::invalidateAll);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Statistiques du cache de pages, publiées sous cache=products.pages
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "products.pages");
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,248 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.dto.ProductDto;
+import com.dailycodebuffer.security.dto.ProductPage;
+import com.dailycodebuffer.security.dto.ProductRequest;
+import com.dailycodebuffer.security.entities.Product;
+import com.dailycodebuffer.security.repositories.ProductRepository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service du catalogue produits
+ *
+ * Pagination par clé (valeur de tri, puis id) : le coût d'une page ne dépend
+ * pas de sa position. Les pages passent par {@link ProductPageCache}.
+ */
+@Service
+public class ProductService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductPageCache productPageCache;
+
+    /**
+     * Champs de tri autorisés (chacun couvert par un index avec l'id)
+     */
+    public enum SortField {
+        ID("id"),
+        NAME("name"),
+        PRICE("price");
+
+        private final String attribute;
+
+        SortField(String attribute) {
+            this.attribute = attribute;
+        }
+    }
+
+    /**
+     * Requête de page (clé du cache)
+     */
+    public record PageQuery(String category,
+                            BigDecimal minPrice,
+                            BigDecimal maxPrice,
+                            String search,
+                            SortField sort,
+                            boolean descending,
+                            String after,
+                            int size) {
+
+        public PageQuery {
+            sort = sort != null ? sort : SortField.ID;
+            size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            category = category == null || category.isBlank() ? null : category;
+            search = search == null || search.isBlank() ? null : search.toLowerCase();
+        }
+    }
+
+    /**
+     * Page calculée et son ETag
+     */
+    public record PageResult(ProductPage page, String etag) {
+    }
+
+    /**
+     * Retourne une page du catalogue
+     *
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    public PageResult getPage(PageQuery query) {
+        return productPageCache.get(query, this::loadPage);
+    }
+
+    /**
+     * Récupère un produit par son id
+     */
+    public Optional<ProductDto> getProduct(Long id) {
+        return productRepository.findById(id).map(ProductDto::of);
+    }
+
+    /**
+     * Crée un produit
+     */
+    @Transactional
+    public ProductDto create(ProductRequest request) {
+        Product product = Product.builder()
+                .sku(request.sku())
+                .name(request.name())
+                .description(request.description())
+                .category(request.category())
+                .price(request.price())
+                .build();
+        Product saved = productRepository.save(product);
+        productPageCache.invalidateAll();
+        return ProductDto.of(saved);
+    }
+
+    private PageResult loadPage(PageQuery query) {
+        Specification<Product> spec = filters(query);
+        if (query.after() != null) {
+            spec = spec.and(after(query, Cursor.decode(query.after(), query.sort())));
+        }
+        Sort.Direction direction = query.descending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = query.sort() == SortField.ID
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, query.sort().attribute, "id");
+
+        // Un élément de plus pour savoir s'il existe une page suivante
+        List<Product> products = productRepository.findBy(spec,
+                q -> q.sortBy(sort).limit(query.size() + 1).all());
+        boolean hasMore = products.size() > query.size();
+        if (hasMore) {
+            products = products.subList(0, query.size());
+        }
+
+        List<ProductDto> items = new ArrayList<>(products.size());
+        for (Product product : products) {
+            items.add(ProductDto.of(product));
+        }
+        String nextCursor = hasMore ? Cursor.encode(products.get(products.size() - 1), query.sort()) : null;
+        ProductPage page = new ProductPage(List.copyOf(items), nextCursor);
+        return new PageResult(page, etag(page));
+    }
+
+    private static Specification<Product> filters(PageQuery query) {
+        return (root, q, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query.category() != null) {
+                predicates.add(cb.equal(root.get("category"), query.category()));
+            }
+            if (query.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), query.minPrice()));
+            }
+            if (query.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), query.maxPrice()));
+            }
+            if (query.search() != null) {
+                predicates.add(cb.like(cb.lower(root.get("name")), escapeLike(query.search()) + "%", '\\'));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Condition de clé : strictement après le dernier élément de la page précédente
+     */
+    private static Specification<Product> after(PageQuery query, Cursor cursor) {
+        boolean desc = query.descending();
+        return (root, q, cb) -> switch (query.sort()) {
+            case ID -> beyond(cb, root.get("id"), cursor.id(), desc);
+            case NAME -> beyondOrTie(cb, root.get("name"), cursor.value(), root.get("id"), cursor.id(), desc);
+            case PRICE -> beyondOrTie(cb, root.get("price"), new BigDecimal(cursor.value()), root.get("id"), cursor.id(), desc);
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate beyond(CriteriaBuilder cb, Path<Y> field, Y value, boolean desc) {
+        return desc ? cb.lessThan(field, value) : cb.greaterThan(field, value);
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate beyondOrTie(CriteriaBuilder cb, Path<Y> field, Y value,
+                                                                          Path<Long> id, Long lastId, boolean desc) {
+        return cb.or(
+                beyond(cb, field, value, desc),
+                cb.and(cb.equal(field, value), beyond(cb, id, lastId, desc)));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * ETag de la page : empreinte des ids, versions et du curseur suivant
+     */
+    private static String etag(ProductPage page) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2);
+            for (ProductDto item : page.items()) {
+                buffer.clear();
+                buffer.putLong(item.id()).putLong(item.version() != null ? item.version() : 0L);
+                digest.update(buffer.array());
+            }
+            if (page.nextCursor() != null) {
+                digest.update(page.nextCursor().getBytes(StandardCharsets.US_ASCII));
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    /**
+     * Curseur opaque : id du dernier élément et valeur du champ de tri, en base64url
+     */
+    record Cursor(Long id, String value) {
+
+        static String encode(Product product, SortField sort) {
+            String raw = switch (sort) {
+                case ID -> String.valueOf(product.getId());
+                case NAME -> product.getId() + ":" + product.getName();
+                case PRICE -> product.getId() + ":" + product.getPrice().toPlainString();
+            };
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String encoded, SortField sort) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+                if (sort == SortField.ID) {
+                    return new Cursor(Long.parseLong(raw), null);
+                }
+                int separator = raw.indexOf(':');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Curseur invalide");
+                }
+                Cursor cursor = new Cursor(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+                if (sort == SortField.PRICE) {
+                    new BigDecimal(cursor.value());
+                }
+                return cursor;
+            } catch (IllegalArgumentException e) {
+                // NumberFormatException comprise
+                throw new IllegalArgumentException("Curseur invalide", e);
+            }
+        }
+    }
+}
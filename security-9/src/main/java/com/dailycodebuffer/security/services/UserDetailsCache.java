@@ -0,0 +1,87 @@
+package com.dailycodebuffer.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Cache borné des UserDetails chargés depuis la base
+ *
+ * Volontairement sans dépendance vers JPA : il est alimenté par
+ * {@link CachedUserDetailsService} et invalidé par les listeners d'entités,
+ * qui sont instanciés pendant la construction de l'EntityManagerFactory.
+ */
+@Component
+public class UserDetailsCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<String, CompletableFuture<UserDetails>> cache;
+
+    public UserDetailsCache(@Value("${security.user-cache.enabled:true}") boolean enabled,
+                            @Value("${security.user-cache.maximum-size:250000}") long maximumSize,
+                            @Value("${security.user-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retourne l'utilisateur depuis le cache ou le charge via le loader
+     * (chargement hors verrou, voir {@link CacheLoads})
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        return CacheLoads.get(cache, username, loader);
+    }
+
+    /**
+     * Invalide un utilisateur, immédiatement puis après commit de la transaction en cours,
+     * pour qu'un chargement concurrent ne remette pas en cache l'état d'avant le commit
+     */
+    public void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+        cache.invalidate(username);
+        TransactionHooks.afterCommit(() -> cache.invalidate(username));
+    }
+
+    /**
+     * Invalide tous les utilisateurs (ex : modification d'un rôle partagé)
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        TransactionHooks.afterCommit(cache::invalidateAll);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Hits, misses et évictions publiés sous cache=userdetails
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "userdetails");
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,190 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.dto.UserSummaryDto;
+import com.dailycodebuffer.security.repositories.UserExportRow;
+import com.dailycodebuffer.security.repositories.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Export en flux de tous les utilisateurs avec leurs rôles (NDJSON ou CSV)
+ * 
+ * Les lignes sont lues par curseur JDBC et écrites directement dans la réponse :
+ * seule la ligne courante est en mémoire, quelle que soit la taille de la table.
+ */
+@Service
+public class UserExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserExportService.class);
+    private static final int FLUSH_EVERY = 500;
+    private static final String CSV_HEADER = "id,username,email,firstName,lastName,status,enabled,createdAt,roles";
+    
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    
+    public UserExportService(UserRepository userRepository, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Formats d'export supportés
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+        
+        private final String contentType;
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+    
+    /**
+     * Écrit tous les utilisateurs dans le flux de sortie
+     * 
+     * @param format Format d'export
+     * @param out Flux de la réponse (non fermé)
+     * @return Nombre d'utilisateurs exportés
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long count = 0;
+        
+        try (Stream<UserExportRow> rows = userRepository.streamAllForExport()) {
+            Iterator<UserExportRow> iterator = rows.iterator();
+            UserExportRow current = null;
+            List<String> roles = new ArrayList<>();
+            
+            // Les lignes d'un même utilisateur sont consécutives (tri par id)
+            while (iterator.hasNext()) {
+                UserExportRow row = iterator.next();
+                if (current != null && !current.getId().equals(row.getId())) {
+                    writer.write(UserSummaryDto.of(current, List.copyOf(roles)));
+                    roles.clear();
+                    if (++count % FLUSH_EVERY == 0) {
+                        writer.flush();
+                    }
+                }
+                current = row;
+                if (row.getRoleName() != null) {
+                    roles.add(row.getRoleName());
+                }
+            }
+            if (current != null) {
+                writer.write(UserSummaryDto.of(current, List.copyOf(roles)));
+                count++;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        writer.flush();
+        logger.info("Export {} terminé: {} utilisateurs", format, count);
+        return count;
+    }
+    
+    private interface RowWriter {
+        void write(UserSummaryDto user) throws IOException;
+        void flush() throws IOException;
+    }
+    
+    /**
+     * Un objet JSON par ligne
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+        
+        @Override
+        public void write(UserSummaryDto user) throws IOException {
+            objectMapper.writeValue(generator, user);
+            generator.writeRaw('\n');
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+    
+    /**
+     * CSV avec en-tête ; les rôles sont séparés par '|'
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write(CSV_HEADER);
+            this.writer.write('\n');
+        }
+        
+        @Override
+        public void write(UserSummaryDto user) throws IOException {
+            writer.write(String.valueOf(user.id()));
+            writer.write(',');
+            writeField(user.username());
+            writer.write(',');
+            writeField(user.email());
+            writer.write(',');
+            writeField(user.firstName());
+            writer.write(',');
+            writeField(user.lastName());
+            writer.write(',');
+            writeField(user.status() != null ? user.status().name() : null);
+            writer.write(',');
+            writer.write(String.valueOf(user.enabled()));
+            writer.write(',');
+            writeField(user.createdAt() != null ? user.createdAt().toString() : null);
+            writer.write(',');
+            writeField(String.join("|", user.roles()));
+            writer.write('\n');
+        }
+        
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.dto.BulkUserReport;
+import com.dailycodebuffer.security.dto.BulkUserRequest;
+import com.dailycodebuffer.security.dto.BulkUserResult;
+import com.dailycodebuffer.security.entities.Role;
+import com.dailycodebuffer.security.entities.User;
+import com.dailycodebuffer.security.exception.ServiceOverloadedException;
+import com.dailycodebuffer.security.repositories.RoleRepository;
+import com.dailycodebuffer.security.repositories.UserIdentity;
+import com.dailycodebuffer.security.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Provisionnement en masse de comptes utilisateurs
+ * 
+ * Par rapport à createUserWithRoles appelé en boucle :
+ * - les rôles sont résolus une seule fois (findByNameIn)
+ * - les conflits username/email sont détectés par une requête ensembliste par lot
+ * - les mots de passe d'un lot sont hachés en parallèle sur le pool BCrypt
+ *   ({@link PasswordHashingService}), avec au plus max-in-flight tâches en
+ *   cours : le reste du pool et de sa file reste disponible pour les logins
+ * - chaque lot est écrit dans sa propre transaction, en INSERT groupés
+ * 
+ * Chaque ligne reçoit un résultat ; un lot en échec n'annule pas les lots précédents.
+ * Si le pool BCrypt est saturé, les lignes restantes sont marquées en échec (à renvoyer).
+ * Une requête est limitée à max-batch comptes.
+ */
+@Service
+public class UserProvisioningService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserProvisioningService.class);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxInFlight;
+    private final int chunkSize;
+    private final int maxBatch;
+    
+    public UserProvisioningService(UserRepository userRepository,
+                                   RoleRepository roleRepository,
+                                   PasswordHashingService passwordHashingService,
+                                   Validator validator,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${security.provisioning.max-in-flight:0}") int maxInFlight,
+                                   @Value("${security.provisioning.chunk-size:500}") int chunkSize,
+                                   @Value("${security.provisioning.max-batch:5000}") int maxBatch) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.chunkSize = chunkSize;
+        this.maxBatch = maxBatch;
+    }
+    
+    /**
+     * Nombre maximal de comptes acceptés par requête
+     */
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+    
+    /**
+     * Crée les comptes demandés
+     * 
+     * @param requests Comptes à créer (au plus max-batch)
+     * @return Résultat par ligne
+     * @throws IllegalArgumentException si la requête dépasse max-batch comptes
+     */
+    public BulkUserReport provision(List<BulkUserRequest> requests) {
+        if (requests.size() > maxBatch) {
+            throw new IllegalArgumentException("Au plus " + maxBatch + " comptes par requête");
+        }
+        BulkUserResult[] results = new BulkUserResult[requests.size()];
+        Map<String, Role> rolesByName = resolveRoles(requests);
+        
+        // Validation et doublons internes à la requête
+        List<Integer> candidates = new ArrayList<>(requests.size());
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BulkUserRequest request = requests.get(i);
+            String invalid = validate(request, rolesByName);
+            if (invalid != null) {
+                results[i] = BulkUserResult.rejected(i, request.username(), BulkUserResult.Status.INVALID, invalid);
+            } else if (!seenUsernames.add(request.username())) {
+                results[i] = BulkUserResult.rejected(i, request.username(), BulkUserResult.Status.CONFLICT,
+                        "nom d'utilisateur en double dans la requête");
+            } else if (!seenEmails.add(request.email())) {
+                results[i] = BulkUserResult.rejected(i, request.username(), BulkUserResult.Status.CONFLICT,
+                        "email en double dans la requête");
+            } else {
+                candidates.add(i);
+            }
+        }
+        
+        for (int from = 0; from < candidates.size(); from += chunkSize) {
+            List<Integer> chunk = candidates.subList(from, Math.min(from + chunkSize, candidates.size()));
+            try {
+                provisionChunk(requests, chunk, rolesByName, results);
+            } catch (ServiceOverloadedException e) {
+                logger.warn("Provisionnement interrompu: pool de hachage saturé");
+                for (int i : candidates.subList(from, candidates.size())) {
+                    results[i] = BulkUserResult.rejected(i, requests.get(i).username(), BulkUserResult.Status.FAILED,
+                            "service surchargé, à renvoyer");
+                }
+                break;
+            }
+        }
+        
+        int created = 0;
+        for (BulkUserResult result : results) {
+            if (result.status() == BulkUserResult.Status.CREATED) {
+                created++;
+            }
+        }
+        logger.info("Provisionnement: {} comptes créés sur {}", created, requests.size());
+        return new BulkUserReport(created, requests.size() - created, Arrays.asList(results));
+    }
+    
+    private Map<String, Role> resolveRoles(List<BulkUserRequest> requests) {
+        Set<String> roleNames = new HashSet<>();
+        for (BulkUserRequest request : requests) {
+            if (request.roles() != null) {
+                roleNames.addAll(request.roles());
+            }
+        }
+        Map<String, Role> rolesByName = new HashMap<>();
+        if (!roleNames.isEmpty()) {
+            for (Role role : roleRepository.findByNameIn(roleNames)) {
+                rolesByName.put(role.getName(), role);
+            }
+        }
+        return rolesByName;
+    }
+    
+    private String validate(BulkUserRequest request, Map<String, Role> rolesByName) {
+        Set<ConstraintViolation<BulkUserRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<BulkUserRequest> violation = violations.iterator().next();
+            return violation.getPropertyPath() + " " + violation.getMessage();
+        }
+        if (request.roles() != null) {
+            for (String roleName : request.roles()) {
+                if (!rolesByName.containsKey(roleName)) {
+                    return "rôle inconnu: " + roleName;
+                }
+            }
+        }
+        return null;
+    }
+    
+    private void provisionChunk(List<BulkUserRequest> requests, List<Integer> chunk,
+                                Map<String, Role> rolesByName, BulkUserResult[] results) {
+        // Conflits avec les comptes existants : une requête pour tout le lot
+        Set<String> usernames = new HashSet<>(chunk.size());
+        Set<String> emails = new HashSet<>(chunk.size());
+        for (int i : chunk) {
+            usernames.add(requests.get(i).username());
+            emails.add(requests.get(i).email());
+        }
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (UserIdentity identity : userRepository.findIdentities(usernames, emails)) {
+            takenUsernames.add(identity.getUsername());
+            takenEmails.add(identity.getEmail());
+        }
+        
+        List<Integer> accepted = new ArrayList<>(chunk.size());
+        for (int i : chunk) {
+            BulkUserRequest request = requests.get(i);
+            if (takenUsernames.contains(request.username())) {
+                results[i] = BulkUserResult.rejected(i, request.username(), BulkUserResult.Status.CONFLICT,
+                        "nom d'utilisateur déjà utilisé");
+            } else if (takenEmails.contains(request.email())) {
+                results[i] = BulkUserResult.rejected(i, request.username(), BulkUserResult.Status.CONFLICT,
+                        "email déjà utilisé");
+            } else {
+                accepted.add(i);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        
+        // Hachage parallèle du lot, hors transaction ; au plus maxInFlight tâches soumises à la fois
+        List<String> hashes = new ArrayList<>(accepted.size());
+        Queue<CompletableFuture<String>> inFlight = new ArrayDeque<>(maxInFlight);
+        for (int i : accepted) {
+            if (inFlight.size() >= maxInFlight) {
+                hashes.add(inFlight.remove().join());
+            }
+            inFlight.add(passwordHashingService.encode(requests.get(i).password()));
+        }
+        while (!inFlight.isEmpty()) {
+            hashes.add(inFlight.remove().join());
+        }
+        
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int k = 0; k < accepted.size(); k++) {
+            BulkUserRequest request = requests.get(accepted.get(k));
+            Set<Role> roles = new HashSet<>();
+            if (request.roles() != null) {
+                for (String roleName : request.roles()) {
+                    roles.add(rolesByName.get(roleName));
+                }
+            }
+            users.add(User.builder()
+                    .username(request.username())
+                    .email(request.email())
+                    .password(hashes.get(k))
+                    .firstName(request.firstName())
+                    .lastName(request.lastName())
+                    .status(User.AccountStatus.ACTIVE)
+                    .enabled(true)
+                    .roles(roles)
+                    .build());
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                for (User user : users) {
+                    // Référence au rôle géré (les rôles ont été chargés hors de cette transaction)
+                    Set<Role> managed = new HashSet<>();
+                    for (Role role : user.getRoles()) {
+                        managed.add(entityManager.getReference(Role.class, role.getId()));
+                    }
+                    user.setRoles(managed);
+                    entityManager.persist(user);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (int k = 0; k < accepted.size(); k++) {
+                int i = accepted.get(k);
+                results[i] = BulkUserResult.created(i, requests.get(i).username(), users.get(k).getId());
+            }
+        } catch (DataAccessException | PersistenceException e) {
+            // Ex : compte créé en parallèle entre la vérification et l'écriture
+            logger.warn("Provisionnement: lot de {} comptes en échec", accepted.size(), e);
+            for (int i : accepted) {
+                results[i] = BulkUserResult.rejected(i, requests.get(i).username(), BulkUserResult.Status.FAILED,
+                        "lot rejeté par la base, à renvoyer");
+            }
+        }
+    }
+}
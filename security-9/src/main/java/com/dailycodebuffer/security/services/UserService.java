@@ -1,23 +1,44 @@
 package com.dailycodebuffer.security.services;
 
+import com.dailycodebuffer.security.dto.LoginResult;
+import com.dailycodebuffer.security.dto.UserPage;
+import com.dailycodebuffer.security.dto.UserSummaryDto;
 import com.dailycodebuffer.security.entities.User;
 import com.dailycodebuffer.security.repositories.UserRepository;
+import com.dailycodebuffer.security.repositories.UserRoleName;
+import com.dailycodebuffer.security.repositories.UserSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Service pour la gestion des utilisateurs et l'authentification.
  */
 @Service
 public class UserService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private UserRepository userRepository;
     @Autowired
@@ -26,6 +47,19 @@ public class UserService {
     private AuthenticationManager authenticationManager;
     @Autowired
     private JwtService jwtService;
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+    @Autowired
+    private LoginAttemptStore loginAttemptStore;
+    @Autowired
+    private CachedUserDetailsService userDetailsService;
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+
+    private final UserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+    // Hachage comparé pour un nom inconnu (même coût qu'un compte réel), calculé à la première utilisation
+    private volatile String unknownUserPassword;
 
     /**
      * Inscription d'un nouvel utilisateur
@@ -37,35 +71,162 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    /**
+     * Inscription asynchrone : seul le hachage BCrypt s'exécute sur le pool dédié,
+     * l'écriture en base se poursuit sur l'exécuteur des tâches applicatives
+     */
+    public CompletableFuture<User> registerAsync(User user) {
+        return passwordHashingService.encode(user.getPassword())
+                .thenApplyAsync(encoded -> {
+                    user.setPassword(encoded);
+                    user.setEnabled(true); // Active le compte par défaut
+                    return userRepository.save(user);
+                }, taskExecutor);
+    }
+
+    /**
+     * Connexion asynchrone
+     * Le compte est chargé dans le thread appelant (cache, filtre de Bloom) ;
+     * seules la comparaison BCrypt et la mise à niveau éventuelle du hachage
+     * s'exécutent sur le pool dédié. La suite (tentatives, écriture du nouveau
+     * hachage, JWT) s'exécute sur l'exécuteur des tâches applicatives.
+     * Seul le refus des identifiants donne un résultat rejeté : les autres erreurs
+     * (base, exécuteur saturé, signature) terminent le futur en échec.
+     */
+    public CompletableFuture<LoginResult> verifyAsync(User user) {
+        String username = user.getUsername();
+        String rawPassword = user.getPassword();
+        // Compte verrouillé : refusé sans vérification BCrypt
+        if (username == null || rawPassword == null || loginAttemptStore.isLocked(username)) {
+            return CompletableFuture.completedFuture(LoginResult.rejected());
+        }
+        UserDetails found;
+        try {
+            found = userDetailsService.loadUserByUsername(username);
+            accountStatusChecker.check(found);
+        } catch (UsernameNotFoundException e) {
+            // Nom inconnu : comparaison à un hachage factice, la durée ne révèle pas l'existence du compte
+            found = null;
+        } catch (AccountStatusException e) {
+            return CompletableFuture.completedFuture(LoginResult.rejected());
+        }
+        UserDetails userDetails = found;
+        return passwordHashingService.submit("verify", () -> checkPassword(userDetails, rawPassword))
+                .thenApplyAsync(check -> completeLogin(username, userDetails, check), taskExecutor);
+    }
+
+    /**
+     * Partie BCrypt de la connexion (pool dédié) : comparaison, puis nouveau hachage
+     * si le format ou le coût du hachage stocké diffère de la cible
+     */
+    private PasswordCheck checkPassword(UserDetails userDetails, String rawPassword) {
+        String encoded = userDetails != null ? userDetails.getPassword() : unknownUserPassword();
+        if (!passwordEncoder.matches(rawPassword, encoded) || userDetails == null) {
+            return PasswordCheck.REJECTED;
+        }
+        String upgraded = passwordEncoder.upgradeEncoding(encoded) ? passwordEncoder.encode(rawPassword) : null;
+        return new PasswordCheck(true, upgraded);
+    }
+
+    private LoginResult completeLogin(String username, UserDetails userDetails, PasswordCheck check) {
+        if (!check.matched()) {
+            loginAttemptStore.recordFailure(username);
+            return LoginResult.rejected();
+        }
+        UserDetails authenticated = userDetails;
+        if (check.upgradedPassword() != null) {
+            authenticated = userDetailsService.updatePassword(userDetails, check.upgradedPassword());
+        }
+        loginAttemptStore.recordSuccess(username);
+        return LoginResult.authenticated(jwtService.generateToken(authenticated));
+    }
+
+    private String unknownUserPassword() {
+        String encoded = unknownUserPassword;
+        if (encoded == null) {
+            encoded = passwordEncoder.encode("userNotFoundPassword");
+            unknownUserPassword = encoded;
+        }
+        return encoded;
+    }
+
+    /**
+     * Résultat de la partie BCrypt d'une connexion
+     *
+     * @param matched Mot de passe correct pour un compte existant
+     * @param upgradedPassword Nouveau hachage à enregistrer, ou null
+     */
+    private record PasswordCheck(boolean matched, String upgradedPassword) {
+        static final PasswordCheck REJECTED = new PasswordCheck(false, null);
+    }
+
     /**
      * Connexion d'un utilisateur : vérifie les identifiants et retourne un JWT
+     * Seul le refus des identifiants donne un résultat rejeté ; les autres erreurs sont propagées.
      */
-    public String verify(User user) {
+    public LoginResult verify(User user) {
+        // Compte verrouillé : refusé sans vérification BCrypt
+        if (loginAttemptStore.isLocked(user.getUsername())) {
+            return LoginResult.rejected();
+        }
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword())
             );
-            if (authentication.isAuthenticated()) {
-                UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-                return jwtService.generateToken(userDetails);
-            }
-        } catch (Exception e) {
-            return "fail";
+            loginAttemptStore.recordSuccess(user.getUsername());
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            return LoginResult.authenticated(jwtService.generateToken(userDetails));
+        } catch (BadCredentialsException e) {
+            loginAttemptStore.recordFailure(user.getUsername());
+            return LoginResult.rejected();
+        } catch (AccountStatusException e) {
+            return LoginResult.rejected();
         }
-        return "fail";
     }
 
     /**
-     * Récupère tous les utilisateurs
+     * Récupère une page d'utilisateurs par pagination par clé sur l'id
+     * Deux requêtes par page quelle que soit la taille de la table :
+     * les colonnes projetées, puis les noms de rôles de la page
+     *
+     * @param afterId Dernier id de la page précédente (null pour la première page)
+     * @param size Taille de page demandée (bornée à MAX_PAGE_SIZE)
      */
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public UserPage getUsersPage(Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Un élément de plus pour savoir s'il existe une page suivante
+        List<UserSummary> users = userRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
+        boolean hasMore = users.size() > pageSize;
+        if (hasMore) {
+            users = users.subList(0, pageSize);
+        }
+        if (users.isEmpty()) {
+            return new UserPage(List.of(), null);
+        }
+
+        List<Long> ids = new ArrayList<>(users.size());
+        for (UserSummary user : users) {
+            ids.add(user.getId());
+        }
+        Map<Long, List<String>> rolesByUser = new HashMap<>();
+        for (UserRoleName row : userRepository.findRoleNamesByUserIds(ids)) {
+            rolesByUser.computeIfAbsent(row.getUserId(), id -> new ArrayList<>()).add(row.getRoleName());
+        }
+
+        List<UserSummaryDto> items = new ArrayList<>(users.size());
+        for (UserSummary user : users) {
+            items.add(UserSummaryDto.of(user, rolesByUser.getOrDefault(user.getId(), List.of())));
+        }
+        Long nextCursor = hasMore ? users.get(users.size() - 1).getId() : null;
+        return new UserPage(items, nextCursor);
     }
 
     /**
      * Récupère un utilisateur par son id
      */
     public Optional<User> getUserById(Long id) {
-        return userRepository.findById(id);
+        return userRepository.findWithRolesById(id);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.dailycodebuffer.security.services;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Résultat immuable de la vérification d'un token JWT.
+ *
+ * Produit une seule fois par requête par {@link JwtService#verify(String)} :
+ * la signature a été vérifiée et le contenu décodé, les appelants lisent
+ * directement les champs sans re-parser le token.
+ *
+ * @param subject   Sujet du token (nom d'utilisateur)
+ * @param issuedAt  Date d'émission
+ * @param expiresAt Date d'expiration
+ * @param claims    Claims personnalisés (non modifiables)
+ */
+public record VerifiedToken(String subject, Instant issuedAt, Instant expiresAt, Map<String, Object> claims) {
+
+    public VerifiedToken {
+        claims = claims == null ? Map.of() : Map.copyOf(claims);
+    }
+
+    /**
+     * Vérifie si le token est expiré à l'instant donné
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Retourne un claim personnalisé typé, ou null s'il est absent
+     */
+    public <T> T claim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+}
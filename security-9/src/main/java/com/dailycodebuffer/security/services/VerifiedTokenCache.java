@@ -0,0 +1,151 @@
+package com.dailycodebuffer.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Cache borné des tokens JWT déjà vérifiés
+ *
+ * Un client renvoie le même token des milliers de fois pendant sa durée de vie :
+ * ce cache associe l'empreinte SHA-256 du token au {@link VerifiedToken} produit
+ * par {@link JwtService}, ce qui évite de refaire la vérification HMAC et le
+ * décodage JSON à chaque requête.
+ *
+ * - Les entrées expirent à l'expiration du token (plafonnée par max-ttl)
+ * - La taille est bornée (éviction des entrées les moins utiles)
+ * - Seuls les tokens valides sont mis en cache
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Duration maxTtl;
+    private final Cache<TokenDigest, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.maximum-size:100000}") long maximumSize,
+                              @Value("${jwt.cache.max-ttl-seconds:3600}") long maxTtlSeconds) {
+        this.enabled = enabled;
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retourne le token vérifié depuis le cache, ou le vérifie via le loader
+     *
+     * @param token Token JWT compact
+     * @param loader Vérification complète (signature + parsing) en cas d'absence
+     * @return Le token vérifié
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> loader) {
+        if (!enabled) {
+            return loader.apply(token);
+        }
+        return cache.get(TokenDigest.of(token), digest -> loader.apply(token));
+    }
+
+    /**
+     * Retire un token du cache (ex : révocation)
+     */
+    public void invalidate(String token) {
+        cache.invalidate(TokenDigest.of(token));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Statistiques du cache (hits, misses, évictions)
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Taux de succès du cache de tokens : cache.gets{cache=jwt.verified, result=hit|miss}
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "jwt.verified");
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Politique d'expiration : l'entrée vit jusqu'à l'expiration du token, sans dépasser max-ttl
+     */
+    private final class TokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            Duration ttl = maxTtl;
+            if (value.expiresAt() != null) {
+                Duration remaining = Duration.between(Instant.now(), value.expiresAt());
+                if (remaining.compareTo(ttl) < 0) {
+                    ttl = remaining.isNegative() ? Duration.ZERO : remaining;
+                }
+            }
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Empreinte SHA-256 du token, stockée sur 4 longs pour éviter de garder le token en mémoire
+     */
+    record TokenDigest(long h0, long h1, long h2, long h3) {
+
+        static TokenDigest of(String token) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(hash);
+                return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 indisponible", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+-- Migration PostgreSQL : ids IDENTITY -> séquences "pooled" (users, roles)
+--
+-- À exécuter une fois, application arrêtée, avant de démarrer la version
+-- utilisant les séquences (sinon ddl-auto=update crée des séquences partant de 1).
+-- Idempotent.
+--
+-- Optimiseur "pooled" avec allocationSize = 50 : la valeur lue dans la séquence
+-- est la borne haute du bloc réservé, d'où MAX(id) + 50.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users) + 50, (SELECT last_value FROM users_seq)), false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS roles_seq INCREMENT BY 50;
+SELECT setval('roles_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM roles) + 50, (SELECT last_value FROM roles_seq)), false);
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+COMMIT;
@@ -0,0 +1,75 @@
+package com.dailycodebuffer.security;
+
+import com.dailycodebuffer.security.entities.User;
+import com.dailycodebuffer.security.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Connexion de bout en bout : un hachage dont le coût diffère de la cible est réécrit,
+ * un mot de passe refusé donne 401
+ */
+@SpringBootTest(properties = "security.password.bcrypt.strength=4")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class PasswordUpgradeOnLoginTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void legacyHashIsUpgradedOnSuccessfulLogin() throws Exception {
+		String legacyHash = new BCryptPasswordEncoder(5).encode("s3cret-pass");
+		userRepository.save(User.builder()
+				.username("legacy")
+				.email("legacy@example.com")
+				.password(legacyHash)
+				.status(User.AccountStatus.ACTIVE)
+				.enabled(true)
+				.build());
+
+		MvcResult login = mockMvc.perform(post("/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"legacy\",\"password\":\"s3cret-pass\"}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(login)).andExpect(status().isOk());
+
+		String stored = userRepository.findByUsername("legacy").orElseThrow().getPassword();
+		assertTrue(stored.startsWith("{bcrypt}$2a$04$"), stored);
+	}
+
+	@Test
+	void wrongPasswordIsRejectedWith401() throws Exception {
+		userRepository.save(User.builder()
+				.username("rejected")
+				.email("rejected@example.com")
+				.password(new BCryptPasswordEncoder(4).encode("right-pass"))
+				.status(User.AccountStatus.ACTIVE)
+				.enabled(true)
+				.build());
+
+		MvcResult login = mockMvc.perform(post("/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"rejected\",\"password\":\"wrong-pass\"}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(login)).andExpect(status().isUnauthorized());
+	}
+}
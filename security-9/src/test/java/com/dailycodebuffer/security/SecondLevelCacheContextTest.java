@@ -0,0 +1,32 @@
+package com.dailycodebuffer.security;
+
+import com.dailycodebuffer.security.entities.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Démarrage complet sur H2 avec le cache de second niveau de application.properties :
+ * une configuration JCache incohérente (régions, stratégie de cache manquant) fait échouer le build.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class SecondLevelCacheContextTest {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void contextLoadsWithSecondLevelCache() {
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+		assertTrue(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+		assertTrue(sessionFactory.getMetamodel().entity(Role.class) != null);
+		assertTrue(sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled());
+	}
+}
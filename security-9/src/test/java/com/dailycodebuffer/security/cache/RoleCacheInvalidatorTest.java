@@ -0,0 +1,66 @@
+package com.dailycodebuffer.security.cache;
+
+import com.dailycodebuffer.security.entities.Role;
+import com.dailycodebuffer.security.services.AccountVersionRegistry;
+import com.dailycodebuffer.security.services.AuthorityTable;
+import com.dailycodebuffer.security.services.PermissionIndex;
+import com.dailycodebuffer.security.services.UserDetailsCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Deux "instances" abonnées au même canal en mémoire simulent un cluster
+ */
+class RoleCacheInvalidatorTest {
+
+	private final InProcessCacheInvalidationChannel channel = new InProcessCacheInvalidationChannel();
+	private Cache localCache;
+	private Cache remoteCache;
+	private RoleCacheInvalidator local;
+	private RoleCacheInvalidator remote;
+	private PermissionIndex localIndex;
+	private PermissionIndex remoteIndex;
+
+	@BeforeEach
+	void setUp() {
+		localCache = mock(Cache.class);
+		remoteCache = mock(Cache.class);
+		localIndex = mock(PermissionIndex.class);
+		remoteIndex = mock(PermissionIndex.class);
+		local = invalidator(localCache, localIndex);
+		remote = invalidator(remoteCache, remoteIndex);
+	}
+
+	@SuppressWarnings("unchecked")
+	private RoleCacheInvalidator invalidator(Cache cache, PermissionIndex permissionIndex) {
+		when(cache.unwrap(Cache.class)).thenReturn(cache);
+		EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+		when(entityManagerFactory.getCache()).thenReturn(cache);
+		ObjectProvider<EntityManagerFactory> provider = mock(ObjectProvider.class);
+		when(provider.getObject()).thenReturn(entityManagerFactory);
+		return new RoleCacheInvalidator(channel, provider, new UserDetailsCache(true, 100, 60), new AuthorityTable(), permissionIndex,
+				mock(AccountVersionRegistry.class));
+	}
+
+	@Test
+	void roleChangeIsEvictedOnOtherNodesOnly() {
+		local.roleChanged(42L);
+
+		verify(remoteCache).evictEntityData(Role.class, 42L);
+		verify(remoteCache).evictCollectionData(Role.class.getName() + ".permissions", 42L);
+		verify(remoteCache).evictQueryRegions();
+		verify(localCache, never()).evictEntityData(any(Class.class), any());
+		verify(localCache, never()).evictQueryRegions();
+		verify(remoteIndex).refresh(42L);
+		verify(localIndex, never()).refresh(any());
+	}
+}
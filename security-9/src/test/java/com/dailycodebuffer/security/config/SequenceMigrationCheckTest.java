@@ -0,0 +1,50 @@
+package com.dailycodebuffer.security.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class SequenceMigrationCheckTest {
+
+	private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+			"jdbc:h2:mem:sequence-check;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+	private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+	private final SequenceMigrationCheck check = new SequenceMigrationCheck(dataSource);
+
+	@AfterEach
+	void dropAll() {
+		jdbc.execute("DROP ALL OBJECTS");
+	}
+
+	@Test
+	void emptyDatabaseIsAccepted() throws Exception {
+		check.afterPropertiesSet();
+	}
+
+	@Test
+	void existingTablesWithoutSequencesFailFast() throws Exception {
+		jdbc.execute("CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY)");
+		jdbc.execute("CREATE TABLE roles (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY)");
+		jdbc.execute("CREATE SEQUENCE roles_seq INCREMENT BY 50");
+
+		assertThat(check.missingSequences()).containsExactly("users_seq");
+		assertThatIllegalStateException()
+				.isThrownBy(check::afterPropertiesSet)
+				.withMessageContaining("users_seq")
+				.withMessageContaining(SequenceMigrationCheck.MIGRATION_SCRIPT);
+	}
+
+	@Test
+	void migratedDatabaseIsAccepted() throws Exception {
+		jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+		jdbc.execute("CREATE TABLE roles (id BIGINT PRIMARY KEY)");
+		jdbc.execute("CREATE SEQUENCE users_seq INCREMENT BY 50");
+		jdbc.execute("CREATE SEQUENCE roles_seq INCREMENT BY 50");
+
+		assertThat(check.missingSequences()).isEmpty();
+	}
+}
@@ -0,0 +1,89 @@
+package com.dailycodebuffer.security.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RolePermissionTest {
+
+	private static Role role(String name, String... permissions) {
+		return Role.builder()
+				.name(name)
+				.active(true)
+				.permissions(new HashSet<>(Set.of(permissions)))
+				.build();
+	}
+
+	@Test
+	void anyAndAllPermissionChecks() {
+		Role role = role("USER", "PRODUCT_READ", "PROFILE_READ");
+
+		assertTrue(role.hasPermission("PRODUCT_READ"));
+		assertFalse(role.hasPermission("PRODUCT_DELETE"));
+		assertTrue(role.hasAnyPermission("PRODUCT_DELETE", "PROFILE_READ"));
+		assertFalse(role.hasAnyPermission("PRODUCT_DELETE", "SYSTEM_MANAGE"));
+		assertTrue(role.hasAllPermissions("PRODUCT_READ", "PROFILE_READ"));
+		assertFalse(role.hasAllPermissions("PRODUCT_READ", "UNKNOWN_PERMISSION"));
+	}
+
+	@Test
+	void maskFollowsPermissionChanges() {
+		Role role = role("MODERATOR", "USER_READ");
+		assertFalse(role.hasPermission("CONTENT_MODERATE"));
+
+		role.addPermission("CONTENT_MODERATE");
+		assertTrue(role.hasPermission("CONTENT_MODERATE"));
+
+		role.setPermissions(new HashSet<>(Set.of("PRODUCT_UPDATE")));
+		assertTrue(role.hasPermission("PRODUCT_UPDATE"));
+		assertFalse(role.hasPermission("CONTENT_MODERATE"));
+
+		role.removePermission("PRODUCT_UPDATE");
+		assertFalse(role.hasPermission("PRODUCT_UPDATE"));
+	}
+
+	@Test
+	void maskFollowsARemovalThenAnAdditionOfTheSameSize() {
+		Role role = role("EDITOR", "PRODUCT_READ");
+		assertTrue(role.hasPermission("PRODUCT_READ"));
+
+		role.removePermission("PRODUCT_READ");
+		role.addPermission("PRODUCT_UPDATE");
+
+		assertFalse(role.hasPermission("PRODUCT_READ"));
+		assertTrue(role.hasPermission("PRODUCT_UPDATE"));
+		assertThrows(UnsupportedOperationException.class, () -> role.getPermissions().add("SYSTEM_MANAGE"));
+	}
+
+	@Test
+	void unknownPermissionNamesAreNotRegisteredByChecks() {
+		Role role = role("VIEWER", "PRODUCT_READ");
+		int registered = PermissionRegistry.size();
+
+		assertFalse(role.hasAnyPermission("NEVER_GRANTED_A"));
+		assertFalse(role.hasAllPermissions("PRODUCT_READ", "NEVER_GRANTED_B"));
+		assertTrue(role.hasAllPermissions("PRODUCT_READ"));
+		assertEquals(registered, PermissionRegistry.size());
+	}
+
+	@Test
+	void userPermissionsAreTheUnionOfActiveRoles() {
+		Role reader = role("READER", "PRODUCT_READ");
+		Role writer = role("WRITER", "PRODUCT_CREATE");
+		Role disabled = role("DISABLED", "SYSTEM_MANAGE");
+		disabled.setActive(false);
+		User user = User.builder().username("john").roles(Set.of(reader, writer, disabled)).build();
+
+		assertTrue(user.hasAllPermissions(PermissionMask.of("PRODUCT_READ", "PRODUCT_CREATE")));
+		assertFalse(user.hasAllPermissions(PermissionMask.of("PRODUCT_READ", "SYSTEM_MANAGE")));
+		assertTrue(user.hasAnyPermission(PermissionMask.of("SYSTEM_MANAGE", "PRODUCT_CREATE")));
+		assertFalse(user.hasPermission("SYSTEM_MANAGE"));
+		assertTrue(user.hasRole("WRITER"));
+	}
+}
@@ -0,0 +1,73 @@
+package com.dailycodebuffer.security.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorHandlingHotPathTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	@Test
+	void fixedMessageBodyIsReusedWithinTheSameSecond() {
+		Clock clock = Clock.fixed(Instant.parse("2024-05-01T10:15:30.250Z"), ZoneOffset.UTC);
+		PreSerializedError error = new PreSerializedError(objectMapper, clock, HttpStatus.UNAUTHORIZED,
+				"Erreur d'authentification", "Nom d'utilisateur ou mot de passe incorrect");
+
+		byte[] first = error.json();
+
+		assertThat(error.json()).isSameAs(first);
+		assertThat(new String(first, StandardCharsets.UTF_8))
+				.contains("\"timestamp\":\"2024-05-01T10:15:30\"")
+				.contains("\"status\":401")
+				.contains("Nom d'utilisateur ou mot de passe incorrect");
+	}
+
+	@Test
+	void bodyIsRefreshedWhenTheSecondChanges() {
+		PreSerializedError before = new PreSerializedError(objectMapper,
+				Clock.fixed(Instant.parse("2024-05-01T10:15:30Z"), ZoneOffset.UTC), HttpStatus.FORBIDDEN, "Accès refusé", "Refusé");
+		PreSerializedError after = new PreSerializedError(objectMapper,
+				Clock.fixed(Instant.parse("2024-05-01T10:15:31Z"), ZoneOffset.UTC), HttpStatus.FORBIDDEN, "Accès refusé", "Refusé");
+
+		assertThat(new String(after.json(), StandardCharsets.UTF_8)).isNotEqualTo(new String(before.json(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void logLinesAreCappedPerIntervalAndSuppressedOnesReported() {
+		AtomicLong now = new AtomicLong();
+		SampledLog log = new SampledLog(2, 10, now::get);
+
+		assertThat(log.tryAcquire()).isZero();
+		assertThat(log.tryAcquire()).isZero();
+		assertThat(log.tryAcquire()).isEqualTo(SampledLog.SUPPRESSED);
+		assertThat(log.tryAcquire()).isEqualTo(SampledLog.SUPPRESSED);
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+		assertThat(log.tryAcquire()).isEqualTo(2);
+		assertThat(log.tryAcquire()).isZero();
+	}
+
+	@Test
+	void stacklessVariantsCarryNoStackTrace() {
+		assertThat(JwtException.withoutStackTrace("Token JWT expiré", null).getStackTrace()).isEmpty();
+		assertThat(ResourceNotFoundException.withoutStackTrace("Produit", "id", 1).getStackTrace()).isEmpty();
+		assertThat(new RateLimitExceededException("Trop de tentatives", 1).getStackTrace()).isEmpty();
+		assertThat(new UnknownUsernameException("ghost").getStackTrace()).isEmpty();
+		assertThat(new JwtException("Token JWT invalide").getStackTrace()).isNotEmpty();
+	}
+}
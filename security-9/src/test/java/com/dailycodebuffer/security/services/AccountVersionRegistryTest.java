@@ -0,0 +1,48 @@
+package com.dailycodebuffer.security.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountVersionRegistryTest {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final AccountVersionRegistry registry = new AccountVersionRegistry(jdbcTemplate, 30, 1000);
+
+	@Test
+	void tokensOlderThanTheStoredVersionAreRejectedAfterRestart() {
+		// Registre vide (redémarrage) : la version est lue en base
+		when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq("alice"))).thenReturn(List.of(3));
+
+		assertThat(registry.isCurrent("alice", 2)).isFalse();
+		assertThat(registry.isCurrent("alice", 3)).isTrue();
+		verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Integer.class), eq("alice"));
+	}
+
+	@Test
+	void deletedAccountsAreRevoked() {
+		when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq("ghost"))).thenReturn(List.of());
+
+		assertThat(registry.isCurrent("ghost", 0)).isFalse();
+	}
+
+	@Test
+	void roleChangeBumpsMembersAndForgetsKnownVersions() {
+		when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq("alice"))).thenReturn(List.of(1), List.of(2));
+		assertThat(registry.isCurrent("alice", 1)).isTrue();
+
+		registry.bumpRoleMembers(7L);
+
+		verify(jdbcTemplate).update(anyString(), eq(7L));
+		assertThat(registry.isCurrent("alice", 1)).isFalse();
+	}
+}
@@ -0,0 +1,48 @@
+package com.dailycodebuffer.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheLoadsTest {
+
+	private final Cache<String, CompletableFuture<String>> cache = Caffeine.newBuilder().build();
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void loadedValueIsReused() {
+		assertThat(CacheLoads.get(cache, "a", this::load)).isEqualTo("A1");
+		assertThat(CacheLoads.get(cache, "a", this::load)).isEqualTo("A1");
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void invalidationDuringLoadDropsTheValue() {
+		String value = CacheLoads.get(cache, "a", key -> {
+			cache.invalidate(key);
+			return load(key);
+		});
+
+		assertThat(value).isEqualTo("A1");
+		assertThat(cache.getIfPresent("a")).isNull();
+	}
+
+	@Test
+	void failedLoadIsNotCached() {
+		assertThatThrownBy(() -> CacheLoads.get(cache, "a", key -> {
+			throw new IllegalStateException("base indisponible");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(CacheLoads.get(cache, "a", this::load)).isEqualTo("A1");
+	}
+
+	private String load(String key) {
+		return key.toUpperCase() + loads.incrementAndGet();
+	}
+}
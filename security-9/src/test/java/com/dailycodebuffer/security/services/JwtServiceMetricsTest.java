@@ -0,0 +1,47 @@
+package com.dailycodebuffer.security.services;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceMetricsTest {
+
+	private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdHMtMDEyMzQ1Njc4OWFiY2RlZg==";
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void eachStageIsTimed() {
+		// Cache désactivé : chaque vérification passe par le parsing complet
+		JwtService jwtService = new JwtService(SECRET, new VerifiedTokenCache(false, 100, 3600), registry);
+		UserDetails user = User.withUsername("alice").password("x").authorities(List.of()).build();
+
+		String token = jwtService.generateToken(user);
+		jwtService.verify(token);
+		jwtService.verify(token);
+
+		assertThat(registry.timer("auth.jwt", "operation", "sign").count()).isEqualTo(1);
+		assertThat(registry.timer("auth.jwt", "operation", "verify").count()).isEqualTo(2);
+		assertThat(registry.timer("auth.jwt", "operation", "parse").count()).isEqualTo(2);
+	}
+
+	@Test
+	void extractClaimReusesTheVerifiedToken() {
+		JwtService jwtService = new JwtService(SECRET, new VerifiedTokenCache(true, 100, 3600), registry);
+		UserDetails user = User.withUsername("alice").password("x").authorities(List.of()).build();
+
+		String token = jwtService.generateToken(user);
+		jwtService.verify(token);
+
+		assertThat(jwtService.extractClaim(token, Claims::getSubject)).isEqualTo("alice");
+		assertThat(jwtService.extractClaim(token, Claims::getExpiration)).isInTheFuture();
+		assertThat(registry.timer("auth.jwt", "operation", "verify").count()).isEqualTo(3);
+		assertThat(registry.timer("auth.jwt", "operation", "parse").count()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,49 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.cache.InProcessCacheInvalidationChannel;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class KnownUsernameFilterTest {
+
+	private final KnownUsernameFilter filter = new KnownUsernameFilter(
+			mock(JdbcTemplate.class), new InProcessCacheInvalidationChannel(), true, 10_000, 0.01, 1000);
+
+	@Test
+	void everyNameIsPossibleUntilBuilt() {
+		assertThat(filter.isReady()).isFalse();
+		assertThat(filter.mightContain("nobody")).isTrue();
+	}
+
+	@Test
+	void knownNamesAreNeverRejected() {
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("user" + i);
+		}
+		filter.build();
+
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(filter.mightContain("user" + i)).isTrue();
+		}
+	}
+
+	@Test
+	void unknownNamesAreMostlyRejected() {
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("user" + i);
+		}
+		filter.build();
+
+		int falsePositives = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (filter.mightContain("intruder" + i)) {
+				falsePositives++;
+			}
+		}
+		// Taux cible 1 %, marge pour la variance
+		assertThat(falsePositives).isLessThan(300);
+	}
+}
@@ -0,0 +1,154 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.cache.InProcessCacheInvalidationChannel;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginAttemptStoreTest {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final MutableClock clock = new MutableClock();
+	// Filtre non construit : tous les noms sont considérés possibles
+	private final KnownUsernameFilter knownUsernameFilter = new KnownUsernameFilter(
+			mock(JdbcTemplate.class), new InProcessCacheInvalidationChannel(), true, 1000, 0.01, 1000);
+	private final LoginAttemptStore store = new LoginAttemptStore(jdbcTemplate, knownUsernameFilter, 3, 30, 1000, 500, clock);
+
+	@Test
+	void accountIsLockedAtThresholdAndUnlockedBySuccess() {
+		store.recordFailure("alice");
+		store.recordFailure("alice");
+		assertThat(store.isLocked("alice")).isFalse();
+
+		store.recordFailure("alice");
+		assertThat(store.isLocked("alice")).isTrue();
+
+		store.recordSuccess("alice");
+		assertThat(store.isLocked("alice")).isFalse();
+		assertThat(store.failedAttempts("alice")).isZero();
+	}
+
+	@Test
+	void accountIsLockedAgainAfterTheLockExpires() {
+		for (int i = 0; i < 3; i++) {
+			store.recordFailure("alice");
+		}
+		assertThat(store.isLocked("alice")).isTrue();
+
+		clock.advance(Duration.ofMinutes(31));
+		assertThat(store.isLocked("alice")).isFalse();
+
+		// Le compteur repart de zéro : nouveau verrou au seuil, pas d'essais illimités
+		store.recordFailure("alice");
+		assertThat(store.failedAttempts("alice")).isEqualTo(1);
+		assertThat(store.isLocked("alice")).isFalse();
+		store.recordFailure("alice");
+		store.recordFailure("alice");
+		assertThat(store.isLocked("alice")).isTrue();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void burstIsCoalescedIntoOneRowPerUser() {
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+		for (int i = 0; i < 50; i++) {
+			store.recordFailure("bob");
+		}
+
+		store.flush();
+		store.flush();
+
+		ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+		assertThat(batch.getValue()).hasSize(1);
+		assertThat(batch.getValue().get(0)[0]).isEqualTo(50);
+	}
+
+	@Test
+	void unknownUsernamesAreReleasedAfterFlush() {
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0});
+		store.recordFailure("ghost");
+
+		store.flush();
+
+		assertThat(store.size()).isZero();
+	}
+
+	@Test
+	void realAccountsAreStillTrackedOnceSaturated() {
+		LoginAttemptStore saturated = new LoginAttemptStore(jdbcTemplate, knownUsernameFilter, 3, 30, 2, 500, clock);
+		when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("alice"))).thenReturn(1);
+		when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("spray3"))).thenReturn(0);
+		saturated.recordFailure("spray1");
+		saturated.recordFailure("spray2");
+
+		saturated.recordFailure("spray3");
+		for (int i = 0; i < 3; i++) {
+			saturated.recordFailure("alice");
+		}
+
+		assertThat(saturated.failedAttempts("spray3")).isZero();
+		assertThat(saturated.isLocked("alice")).isTrue();
+	}
+
+	@Test
+	void namesRejectedByTheFilterAreNeverTracked() {
+		KnownUsernameFilter built = new KnownUsernameFilter(
+				mock(JdbcTemplate.class), new InProcessCacheInvalidationChannel(), true, 1000, 0.01, 1000);
+		built.put("alice");
+		built.build();
+		LoginAttemptStore filtered = new LoginAttemptStore(jdbcTemplate, built, 3, 30, 1000, 500, clock);
+
+		filtered.recordFailure("ghost");
+		filtered.recordFailure("alice");
+
+		assertThat(filtered.size()).isEqualTo(1);
+	}
+
+	@Test
+	void nothingIsWrittenWithoutChanges() {
+		store.flush();
+
+		verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+	}
+
+	private static final class MutableClock extends Clock {
+		private Instant now = Instant.parse("2024-05-01T10:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
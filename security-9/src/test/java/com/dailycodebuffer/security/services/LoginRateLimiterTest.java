@@ -0,0 +1,62 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+	private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	// 6 par minute (une toutes les 10 s), rafale de 3 par utilisateur ; IP très permissive
+	private final LoginRateLimiter limiter = new LoginRateLimiter(registry, true, 6, 3, 6000, 1000, 1000, now::get);
+
+	@Test
+	void burstIsAdmittedThenRejectedWithRetryAfter() {
+		for (int i = 0; i < 3; i++) {
+			limiter.check("alice", "10.0.0.1");
+		}
+
+		assertThatThrownBy(() -> limiter.check("alice", "10.0.0.1"))
+				.isInstanceOf(RateLimitExceededException.class)
+				.satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isEqualTo(10));
+		assertThat(registry.counter("auth.login.ratelimit", "key", "username", "decision", "rejected").count()).isEqualTo(1);
+	}
+
+	@Test
+	void tokensAreReplenishedOverTime() {
+		for (int i = 0; i < 3; i++) {
+			limiter.check("alice", "10.0.0.1");
+		}
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+		limiter.check("alice", "10.0.0.1");
+		assertThatThrownBy(() -> limiter.check("alice", "10.0.0.1")).isInstanceOf(RateLimitExceededException.class);
+	}
+
+	@Test
+	void usernamesAreLimitedIndependently() {
+		for (int i = 0; i < 3; i++) {
+			limiter.check("alice", "10.0.0.1");
+		}
+
+		limiter.check("bob", "10.0.0.1");
+	}
+
+	@Test
+	void addressIsLimitedAcrossUsernames() {
+		LoginRateLimiter perIp = new LoginRateLimiter(registry, true, 600, 100, 6, 2, 1000, now::get);
+		perIp.check("alice", "10.0.0.1");
+		perIp.check("bob", "10.0.0.1");
+
+		assertThatThrownBy(() -> perIp.check("carol", "10.0.0.1")).isInstanceOf(RateLimitExceededException.class);
+		perIp.check("carol", "10.0.0.2");
+	}
+}
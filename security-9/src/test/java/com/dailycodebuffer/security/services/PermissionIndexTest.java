@@ -0,0 +1,37 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.repositories.RoleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PermissionIndexTest {
+
+	@SuppressWarnings("unchecked")
+	private final PermissionIndex index = new PermissionIndex(mock(ObjectProvider.class));
+
+	@Test
+	void lookupFollowsPutAndRemove() {
+		index.put(1L, Set.of("PRODUCT_READ", "PRODUCT_DELETE"));
+		index.put(2L, Set.of("PRODUCT_READ"));
+
+		assertThat(index.roleIdsWithPermission("PRODUCT_READ")).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(index.roleIdsWithPermission("PRODUCT_DELETE")).containsExactly(1L);
+
+		index.put(1L, Set.of("PRODUCT_READ"));
+		assertThat(index.roleIdsWithPermission("PRODUCT_DELETE")).isEmpty();
+
+		index.remove(2L);
+		assertThat(index.roleIdsWithPermission("PRODUCT_READ")).containsExactly(1L);
+	}
+
+	@Test
+	void unknownPermissionHasNoRoles() {
+		assertThat(index.roleIdsWithPermission("UNKNOWN")).isEmpty();
+		assertThat(index.rolesWithPermission("UNKNOWN")).isEmpty();
+	}
+}
@@ -0,0 +1,30 @@
+package com.dailycodebuffer.security.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductCsvReaderTest {
+
+	@Test
+	void readsQuotedFieldsAndLineEndings() throws IOException {
+		ProductImportService.CsvReader reader = new ProductImportService.CsvReader(new StringReader(
+				"sku,name,price\r\nA-1,\"Chaise, \"\"Lounge\"\"\",19.90\nA-2,\"sur\ndeux lignes\",\n"));
+
+		assertThat(reader.readRecord()).containsExactly("sku", "name", "price");
+		assertThat(reader.readRecord()).containsExactly("A-1", "Chaise, \"Lounge\"", "19.90");
+		assertThat(reader.readRecord()).containsExactly("A-2", "sur\ndeux lignes", "");
+		assertThat(reader.readRecord()).isNull();
+	}
+
+	@Test
+	void unterminatedQuoteIsAnError() {
+		ProductImportService.CsvReader reader = new ProductImportService.CsvReader(new StringReader("\"abc"));
+
+		assertThatThrownBy(reader::readRecord).isInstanceOf(IOException.class);
+	}
+}
@@ -0,0 +1,38 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.entities.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductCursorTest {
+
+	private final Product product = Product.builder()
+			.id(42L)
+			.name("Chaise: modèle A")
+			.price(new BigDecimal("19.90"))
+			.build();
+
+	@Test
+	void cursorRoundTripsForEachSort() {
+		assertThat(decode(ProductService.SortField.ID)).isEqualTo(new ProductService.Cursor(42L, null));
+		assertThat(decode(ProductService.SortField.NAME)).isEqualTo(new ProductService.Cursor(42L, "Chaise: modèle A"));
+		assertThat(decode(ProductService.SortField.PRICE)).isEqualTo(new ProductService.Cursor(42L, "19.90"));
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThatThrownBy(() -> ProductService.Cursor.decode("%%%", ProductService.SortField.ID))
+				.isInstanceOf(IllegalArgumentException.class);
+		String priceCursor = ProductService.Cursor.encode(product, ProductService.SortField.NAME);
+		assertThatThrownBy(() -> ProductService.Cursor.decode(priceCursor, ProductService.SortField.PRICE))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private ProductService.Cursor decode(ProductService.SortField sort) {
+		return ProductService.Cursor.decode(ProductService.Cursor.encode(product, sort), sort);
+	}
+}
@@ -0,0 +1,81 @@
+package com.dailycodebuffer.security.services;
+
+import com.dailycodebuffer.security.dto.ProductImportStatus;
+import com.dailycodebuffer.security.exception.PayloadTooLargeException;
+import com.dailycodebuffer.security.exception.ServiceOverloadedException;
+import com.dailycodebuffer.security.repositories.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductImportAdmissionTest {
+
+	private static final String ROW = "{\"sku\":\"A-1\",\"name\":\"Chaise\",\"category\":\"mobilier\",\"price\":10}\n";
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final Validator validator = mock(Validator.class);
+	// 1 thread, 1 import en attente, fichiers limités à 1 Ko
+	private final ProductImportService service = new ProductImportService(
+			mock(ProductRepository.class), mock(ProductPageCache.class), mock(PlatformTransactionManager.class),
+			new ObjectMapper(), validator, new SimpleMeterRegistry(), 1000, 100, 1, 1, 30, 1024);
+
+	@AfterEach
+	void shutdown() {
+		release.countDown();
+		service.destroy();
+	}
+
+	@Test
+	void importIsRefusedBeforeReadingTheBodyWhenAllSlotsAreTaken() throws Exception {
+		// Le premier import reste bloqué en validation, le second attend dans la file
+		when(validator.validate(any())).thenAnswer(invocation -> {
+			release.await(10, TimeUnit.SECONDS);
+			return Set.of();
+		});
+		service.startImport(ProductImportService.Format.NDJSON, body(ROW));
+		service.startImport(ProductImportService.Format.NDJSON, body(ROW));
+
+		InputStream untouched = new InputStream() {
+			@Override
+			public int read() {
+				throw new AssertionError("corps lu malgré le refus");
+			}
+		};
+		assertThatThrownBy(() -> service.startImport(ProductImportService.Format.NDJSON, untouched))
+				.isInstanceOf(ServiceOverloadedException.class);
+	}
+
+	@Test
+	void oversizedBodyIsRejectedAndItsSlotReleased() throws Exception {
+		when(validator.validate(any())).thenReturn(Set.of());
+
+		assertThatThrownBy(() -> service.startImport(ProductImportService.Format.NDJSON, body(ROW.repeat(20))))
+				.isInstanceOf(PayloadTooLargeException.class);
+		assertThatThrownBy(() -> service.startImport(ProductImportService.Format.NDJSON, body(ROW.repeat(20))))
+				.isInstanceOf(PayloadTooLargeException.class);
+
+		ProductImportStatus accepted = service.startImport(ProductImportService.Format.NDJSON, body(ROW));
+		assertThat(accepted.state()).isIn("QUEUED", "RUNNING", "COMPLETED", "FAILED");
+		assertThat(service.getStatus(accepted.jobId())).isPresent();
+	}
+
+	private static InputStream body(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
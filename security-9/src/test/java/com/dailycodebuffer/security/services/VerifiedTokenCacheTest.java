@@ -0,0 +1,62 @@
+package com.dailycodebuffer.security.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VerifiedTokenCacheTest {
+
+	private static VerifiedToken token(String subject) {
+		Instant now = Instant.now();
+		return new VerifiedToken(subject, now, now.plus(1, ChronoUnit.HOURS), Map.of());
+	}
+
+	@Test
+	void repeatedTokenIsVerifiedOnlyOnce() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, 3600);
+		AtomicInteger verifications = new AtomicInteger();
+		VerifiedToken verified = token("user");
+
+		VerifiedToken first = cache.get("a.b.c", t -> { verifications.incrementAndGet(); return verified; });
+		VerifiedToken second = cache.get("a.b.c", t -> { verifications.incrementAndGet(); return verified; });
+
+		assertSame(first, second);
+		assertEquals(1, verifications.get());
+		assertEquals(1, cache.hitCount());
+		assertEquals(1, cache.missCount());
+	}
+
+	@Test
+	void invalidTokenIsNotCached() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, 3600);
+		AtomicInteger verifications = new AtomicInteger();
+
+		for (int i = 0; i < 2; i++) {
+			assertThrows(IllegalStateException.class, () -> cache.get("bad", t -> {
+				verifications.incrementAndGet();
+				throw new IllegalStateException("signature");
+			}));
+		}
+
+		assertEquals(2, verifications.get());
+		assertEquals(0, cache.estimatedSize());
+	}
+
+	@Test
+	void disabledCacheAlwaysVerifies() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(false, 100, 3600);
+		AtomicInteger verifications = new AtomicInteger();
+
+		cache.get("a.b.c", t -> { verifications.incrementAndGet(); return token("user"); });
+		cache.get("a.b.c", t -> { verifications.incrementAndGet(); return token("user"); });
+
+		assertEquals(2, verifications.get());
+	}
+}